@@ -30,6 +30,10 @@ dependencies {
     implementation(libs.edc.spi.dataplane.selector)
     implementation(libs.edc.spi.transaction)
     implementation(libs.edc.spi.edrstore)
+    implementation(libs.edc.lib.sql)
+    implementation(libs.edc.core.sql.bootstrapper)
+    implementation(libs.jersey.server)
+    implementation(libs.jersey.sse)
 
     implementation(libs.edc.did.core)
 }
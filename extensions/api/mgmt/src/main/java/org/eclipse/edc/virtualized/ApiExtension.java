@@ -14,24 +14,101 @@
 
 package org.eclipse.edc.virtualized;
 
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractnegotiation.ContractNegotiationEvent;
 import org.eclipse.edc.connector.controlplane.services.spi.catalog.CatalogService;
 import org.eclipse.edc.connector.controlplane.services.spi.contractnegotiation.ContractNegotiationService;
 import org.eclipse.edc.connector.controlplane.services.spi.transferprocess.TransferProcessService;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessEvent;
 import org.eclipse.edc.connector.dataplane.selector.spi.DataPlaneSelectorService;
 import org.eclipse.edc.edr.spi.store.EndpointDataReferenceStore;
 import org.eclipse.edc.iam.did.spi.resolution.DidResolverRegistry;
 import org.eclipse.edc.participantcontext.spi.service.ParticipantContextService;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.event.EventRouter;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.types.TypeManager;
 import org.eclipse.edc.virtualized.api.data.DataApiController;
+import org.eclipse.edc.virtualized.api.data.DataJobApiController;
+import org.eclipse.edc.virtualized.api.management.CacheMetricsApiController;
+import org.eclipse.edc.virtualized.api.management.DataRequestMetricsApiController;
 import org.eclipse.edc.virtualized.api.management.DataplaneRegistrationApiController;
+import org.eclipse.edc.virtualized.service.DataJobService;
 import org.eclipse.edc.virtualized.service.DataRequestService;
+import org.eclipse.edc.virtualized.service.EdrCache;
+import org.eclipse.edc.virtualized.service.FederatedCatalogService;
+import org.eclipse.edc.virtualized.service.ProcessCompletionRegistry;
+import org.eclipse.edc.virtualized.service.ProtocolEndpointResolver;
+import org.eclipse.edc.virtualized.service.StageTimings;
+import org.eclipse.edc.virtualized.service.TtlCache;
+import org.eclipse.edc.virtualized.store.DataJobStore;
 import org.eclipse.edc.web.spi.WebService;
 import org.eclipse.edc.web.spi.configuration.ApiContext;
+import org.glassfish.jersey.media.sse.SseFeature;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class ApiExtension implements ServiceExtension {
+    private static final long DEFAULT_STATE_TIMEOUT_SECONDS = 60;
+    private static final long DEFAULT_HTTP_CONNECT_TIMEOUT_SECONDS = 10;
+    private static final int DEFAULT_HTTP_THREADS = 8;
+    private static final long DEFAULT_EDR_CACHE_TTL_SECONDS = 3600;
+    private static final int DEFAULT_EDR_CACHE_SIZE = 1000;
+    private static final long DEFAULT_DID_CACHE_TTL_SECONDS = 300;
+    private static final int DEFAULT_DID_CACHE_SIZE = 1000;
+    private static final int DEFAULT_BATCH_CONCURRENCY = 4;
+    private static final long DEFAULT_CATALOG_TIMEOUT_SECONDS = 10;
+    private static final long DEFAULT_CATALOG_CACHE_TTL_SECONDS = 60;
+    private static final int DEFAULT_CATALOG_CACHE_SIZE = 500;
+    private static final long DEFAULT_JOB_RESULT_MAX_SIZE = 50L * 1024 * 1024;
+    private static final int DEFAULT_DATA_REQUEST_CONCURRENCY = 256;
+    private static final int DEFAULT_DATA_REQUEST_THREADS = 32;
+
+    @Setting(description = "Time in seconds to wait for a contract negotiation to finalize or a transfer process to start before the data request fails",
+            key = "edc.mgmt.data.state.timeout", defaultValue = DEFAULT_STATE_TIMEOUT_SECONDS + "")
+    private long stateTimeoutSeconds;
+    @Setting(description = "Connect timeout in seconds of the HTTP client used to download data from provider data planes",
+            key = "edc.mgmt.data.http.connect.timeout", defaultValue = DEFAULT_HTTP_CONNECT_TIMEOUT_SECONDS + "")
+    private long httpConnectTimeoutSeconds;
+    @Setting(description = "Number of threads of the HTTP client used to download data from provider data planes",
+            key = "edc.mgmt.data.http.threads", defaultValue = DEFAULT_HTTP_THREADS + "")
+    private int httpThreads;
+    @Setting(description = "Time in seconds for which a contract agreement is reused for repeated data requests of the same offer. Also used as EDR lifetime if the EDR token has no expiry",
+            key = "edc.mgmt.data.cache.ttl", defaultValue = DEFAULT_EDR_CACHE_TTL_SECONDS + "")
+    private long edrCacheTtlSeconds;
+    @Setting(description = "Maximum number of contract agreements and EDRs cached for repeated data requests. 0 disables the cache",
+            key = "edc.mgmt.data.cache.size", defaultValue = DEFAULT_EDR_CACHE_SIZE + "")
+    private int edrCacheSize;
+    @Setting(description = "Time in seconds for which the ProtocolEndpoint address resolved from a DID document is cached",
+            key = "edc.mgmt.did.cache.ttl", defaultValue = DEFAULT_DID_CACHE_TTL_SECONDS + "")
+    private long didCacheTtlSeconds;
+    @Setting(description = "Maximum number of ProtocolEndpoint addresses cached", key = "edc.mgmt.did.cache.size", defaultValue = DEFAULT_DID_CACHE_SIZE + "")
+    private int didCacheSize;
+    @Setting(description = "Maximum number of data requests of a batch that are processed concurrently", key = "edc.mgmt.data.batch.concurrency", defaultValue = DEFAULT_BATCH_CONCURRENCY + "")
+    private int batchConcurrency;
+    @Setting(description = "Time in seconds to wait for the catalog of a single counter-party in a federated catalog request",
+            key = "edc.mgmt.catalog.timeout", defaultValue = DEFAULT_CATALOG_TIMEOUT_SECONDS + "")
+    private long catalogTimeoutSeconds;
+    @Setting(description = "Time in seconds for which a counter-party catalog is cached for federated catalog requests",
+            key = "edc.mgmt.catalog.cache.ttl", defaultValue = DEFAULT_CATALOG_CACHE_TTL_SECONDS + "")
+    private long catalogCacheTtlSeconds;
+    @Setting(description = "Maximum number of counter-party catalogs cached for federated catalog requests", key = "edc.mgmt.catalog.cache.size", defaultValue = DEFAULT_CATALOG_CACHE_SIZE + "")
+    private int catalogCacheSize;
+    @Setting(description = "Maximum size in bytes of the downloaded data that is stored as the result of a data job", key = "edc.mgmt.data.jobs.result.maxsize",
+            defaultValue = DEFAULT_JOB_RESULT_MAX_SIZE + "")
+    private long jobResultMaxSize;
+    @Setting(description = "Maximum number of data requests that are processed concurrently. Further requests wait until a running request completes",
+            key = "edc.mgmt.data.concurrency", defaultValue = DEFAULT_DATA_REQUEST_CONCURRENCY + "")
+    private int dataRequestConcurrency;
+    @Setting(description = "Number of platform threads data requests run on, if the runtime does not support virtual threads",
+            key = "edc.mgmt.data.threads", defaultValue = DEFAULT_DATA_REQUEST_THREADS + "")
+    private int dataRequestThreads;
+
     @Inject
     private WebService webService;
 
@@ -49,18 +126,72 @@ public class ApiExtension implements ServiceExtension {
     private TransferProcessService transferProcessService;
     @Inject
     private EndpointDataReferenceStore edrStore;
+    @Inject
+    private EventRouter eventRouter;
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+    @Inject
+    private TypeManager typeManager;
+    @Inject
+    private DataJobStore dataJobStore;
+
+    private DataJobService dataJobService;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
-        var dataRequestService = new DataRequestService(contractNegotiationService, transferProcessService, didResolverRegistry, edrStore);
-        webService.registerResource(ApiContext.MANAGEMENT, new DataApiController(catalogService, didResolverRegistry, participantContextService, dataRequestService));
-        webService.registerResource(ApiContext.MANAGEMENT, new DataplaneRegistrationApiController(selectorService));
-    }
+        var completionRegistry = new ProcessCompletionRegistry(Duration.ofSeconds(stateTimeoutSeconds));
+        eventRouter.register(ContractNegotiationEvent.class, completionRegistry);
+        eventRouter.register(TransferProcessEvent.class, completionRegistry);
+
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(httpConnectTimeoutSeconds))
+                .executor(executorInstrumentation.instrument(Executors.newFixedThreadPool(httpThreads), "Data API downloads"))
+                .build();
 
+        var edrCache = new EdrCache(Duration.ofSeconds(edrCacheTtlSeconds), edrCacheSize, typeManager.getMapper(), context.getClock());
+        var endpointResolver = new ProtocolEndpointResolver(didResolverRegistry, Duration.ofSeconds(didCacheTtlSeconds), didCacheSize, context.getClock());
 
+        var dataRequestExecutor = executorInstrumentation.instrument(newDataRequestExecutor(context), "Data API requests");
 
+        var catalogCache = new TtlCache<FederatedCatalogService.CacheKey, FederatedCatalogService.CatalogResult>(Duration.ofSeconds(catalogCacheTtlSeconds), catalogCacheSize, context.getClock());
+        var federatedCatalogService = new FederatedCatalogService(catalogService, endpointResolver, catalogCache, typeManager.getMapper(), Duration.ofSeconds(catalogTimeoutSeconds),
+                dataRequestExecutor);
+
+        var stageTimings = new StageTimings(context.getMonitor());
+        var dataRequestService = new DataRequestService(contractNegotiationService, transferProcessService, endpointResolver, edrStore, completionRegistry, httpClient, edrCache, batchConcurrency,
+                dataRequestExecutor, dataRequestConcurrency, stageTimings);
+        webService.registerResource(ApiContext.MANAGEMENT, new DataApiController(catalogService, endpointResolver, participantContextService, dataRequestService, federatedCatalogService, typeManager.getMapper(), dataRequestExecutor));
+        // a job that had no heartbeat for twice the state timeout is no longer being worked on
+        var jobScheduler = executorInstrumentation.instrument(Executors.newSingleThreadScheduledExecutor(), "Data jobs");
+        dataJobService = new DataJobService(dataRequestService, dataJobStore, participantContextService, context.getMonitor(), context.getClock(),
+                Duration.ofSeconds(stateTimeoutSeconds * 2), jobResultMaxSize, jobScheduler, dataRequestExecutor);
+        webService.registerResource(ApiContext.MANAGEMENT, new SseFeature());
+        webService.registerResource(ApiContext.MANAGEMENT, new DataJobApiController(participantContextService, dataJobService, typeManager.getMapper(), jobScheduler));
+        webService.registerResource(ApiContext.MANAGEMENT, new DataplaneRegistrationApiController(selectorService));
+        webService.registerResource(ApiContext.MANAGEMENT, new CacheMetricsApiController(endpointResolver, federatedCatalogService));
+        webService.registerResource(ApiContext.MANAGEMENT, new DataRequestMetricsApiController(dataRequestService, stageTimings));
+    }
 
+    @Override
+    public void start() {
+        dataJobService.resumeUnfinished();
+    }
 
+    /**
+     * Creates the executor on which data requests run. Virtual threads are used when the runtime supports them, so that
+     * waiting for negotiations, transfers and downloads does not occupy platform threads.
+     */
+    private ExecutorService newDataRequestExecutor(ServiceExtensionContext context) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // virtual threads require Java 21. Waiting for a permit, a negotiation or a transfer does not occupy a
+            // thread, so a small pool is enough for the blocking steps
+            context.getMonitor().info("Virtual threads are not available, data requests run on %d platform threads".formatted(dataRequestThreads));
+            return Executors.newFixedThreadPool(dataRequestThreads);
+        }
+    }
 }
 
 
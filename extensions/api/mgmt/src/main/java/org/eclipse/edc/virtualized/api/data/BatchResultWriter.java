@@ -0,0 +1,259 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.api.data;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.edc.spi.result.ServiceResult;
+import org.eclipse.edc.virtualized.service.DataPayload;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the results of a batch data request as one JSON object per line, in the order in which they complete.
+ * Completed results are queued and written one after the other on the executor, so no request thread waits for the
+ * batch. Payloads are streamed into their line instead of being buffered: JSON is embedded as is, text as a string and
+ * anything else as a base64 string, which is marked with {@code "encoding": "base64"}.
+ * <p>
+ * Once the client went away, the payloads of the remaining results are closed without being read. The future returned
+ * for a result completes once its payload is closed, which lets the batch start its next request.
+ */
+final class BatchResultWriter {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final ObjectMapper objectMapper;
+    private final List<DataRequest> dataRequests;
+    private final ChunkedOutput<byte[]> output;
+    private final Executor executor;
+    private final Queue<BatchItem> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicInteger processed = new AtomicInteger();
+    private volatile boolean failed;
+
+    BatchResultWriter(ObjectMapper objectMapper, List<DataRequest> dataRequests, ChunkedOutput<byte[]> output, Executor executor) {
+        this.objectMapper = objectMapper;
+        this.dataRequests = dataRequests;
+        this.output = output;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the result of the data request at the given index for writing.
+     *
+     * @return a future that completes once the result has been written and its payload closed
+     */
+    CompletableFuture<Void> add(int index, ServiceResult<DataPayload> result) {
+        var item = new BatchItem(index, result, new CompletableFuture<>());
+        completed.add(item);
+        scheduleDrain();
+        return item.written();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            BatchItem item;
+            while ((item = completed.poll()) != null) {
+                try {
+                    if (!failed && !output.isClosed()) {
+                        write(item);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // the client went away or a payload could not be written, the line can not be completed
+                    failed = true;
+                    closeOutput();
+                } finally {
+                    closeBody(item);
+                    item.written().complete(null);
+                }
+                if (processed.incrementAndGet() == dataRequests.size()) {
+                    closeOutput();
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        // a result may have been queued after the loop ended but before the flag was reset
+        if (!completed.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void write(BatchItem item) throws IOException {
+        var dataRequest = dataRequests.get(item.index());
+        var stream = new ChunkStream(output);
+        try (var generator = objectMapper.getFactory().createGenerator(stream)) {
+            generator.writeStartObject();
+            generator.writeNumberField("index", item.index());
+            generator.writeStringField("providerId", dataRequest.providerId());
+            generator.writeStringField("policyId", dataRequest.policyId());
+            if (item.result().succeeded()) {
+                var payload = item.result().getContent();
+                generator.writeStringField("status", "SUCCEEDED");
+                generator.writeStringField("contentType", payload.contentType());
+                writeData(generator, payload);
+            } else {
+                generator.writeStringField("status", "FAILED");
+                generator.writeStringField("error", item.result().getFailureDetail());
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        stream.flush();
+    }
+
+    private void writeData(JsonGenerator generator, DataPayload payload) throws IOException {
+        var contentType = parse(payload.contentType());
+        var body = payload.body();
+        if (contentType != null && isJson(contentType)) {
+            generator.writeFieldName("data");
+            try (var parser = objectMapper.getFactory().createParser(body)) {
+                if (parser.nextToken() == null) {
+                    generator.writeNull();
+                } else {
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+        } else if (contentType != null && isText(contentType)) {
+            generator.writeFieldName("data");
+            generator.writeString(new InputStreamReader(body, charset(contentType)), -1);
+        } else {
+            generator.writeStringField("encoding", "base64");
+            generator.writeFieldName("data");
+            generator.writeBinary(body, -1);
+        }
+    }
+
+    private void closeBody(BatchItem item) {
+        if (item.result().succeeded()) {
+            try {
+                item.result().getContent().body().close();
+            } catch (IOException ignored) {
+                // nothing left to do with the payload
+            }
+        }
+    }
+
+    private void closeOutput() {
+        try {
+            output.close();
+        } catch (IOException ignored) {
+            // the client went away
+        }
+    }
+
+    @Nullable
+    private static MediaType parse(@Nullable String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            return MediaType.valueOf(contentType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isJson(MediaType type) {
+        var subtype = type.getSubtype().toLowerCase(Locale.ROOT);
+        return subtype.equals("json") || subtype.endsWith("+json");
+    }
+
+    private static boolean isText(MediaType type) {
+        var subtype = type.getSubtype().toLowerCase(Locale.ROOT);
+        return type.getType().equalsIgnoreCase("text") || subtype.equals("xml") || subtype.endsWith("+xml");
+    }
+
+    private static Charset charset(MediaType type) {
+        var charset = type.getParameters().get(MediaType.CHARSET_PARAMETER);
+        try {
+            return charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private record BatchItem(int index, ServiceResult<DataPayload> result, CompletableFuture<Void> written) {
+    }
+
+    /**
+     * Collects written bytes into chunks of the output, so that a payload is sent in pieces while it is read.
+     */
+    private static final class ChunkStream extends OutputStream {
+        private final ChunkedOutput<byte[]> output;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int count;
+
+        ChunkStream(ChunkedOutput<byte[]> output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (count == buffer.length) {
+                    flush();
+                }
+                var n = Math.min(length, buffer.length - count);
+                System.arraycopy(bytes, offset, buffer, count, n);
+                count += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (count > 0) {
+                output.write(Arrays.copyOf(buffer, count));
+                count = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // the output stays open for the next line
+            flush();
+        }
+    }
+}
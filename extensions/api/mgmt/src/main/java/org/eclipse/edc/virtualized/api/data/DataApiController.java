@@ -14,24 +14,40 @@
 
 package org.eclipse.edc.virtualized.api.data;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.edc.connector.controlplane.services.spi.catalog.CatalogService;
-import org.eclipse.edc.iam.did.spi.resolution.DidResolverRegistry;
 import org.eclipse.edc.participantcontext.spi.service.ParticipantContextService;
 import org.eclipse.edc.spi.EdcException;
 import org.eclipse.edc.spi.response.StatusResult;
+import org.eclipse.edc.virtualized.service.DataPayload;
 import org.eclipse.edc.virtualized.service.DataRequestService;
+import org.eclipse.edc.virtualized.service.FederatedCatalogService;
+import org.eclipse.edc.virtualized.service.ProtocolEndpointResolver;
 import org.eclipse.edc.web.spi.exception.BadGatewayException;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+import static java.util.Optional.ofNullable;
 
 /**
  * This controller is a quick workaround so that we are able to get a catalog from a counter-party, and to trigger the all-in-one data transfer.
@@ -42,16 +58,25 @@ import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
 @Path("/v1alpha/participants/{participantContextId}/")
 public class DataApiController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final CatalogService service;
-    private final DidResolverRegistry didResolverRegistry;
+    private final ProtocolEndpointResolver endpointResolver;
     private final ParticipantContextService participantContextService;
     private final DataRequestService dataRequestService;
+    private final FederatedCatalogService federatedCatalogService;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
 
-    public DataApiController(CatalogService service, DidResolverRegistry didResolverRegistry, ParticipantContextService participantContextService, DataRequestService dataRequestService) {
+    public DataApiController(CatalogService service, ProtocolEndpointResolver endpointResolver, ParticipantContextService participantContextService, DataRequestService dataRequestService,
+                             FederatedCatalogService federatedCatalogService, ObjectMapper objectMapper, Executor executor) {
         this.service = service;
-        this.didResolverRegistry = didResolverRegistry;
+        this.endpointResolver = endpointResolver;
         this.participantContextService = participantContextService;
         this.dataRequestService = dataRequestService;
+        this.federatedCatalogService = federatedCatalogService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
     }
 
 
@@ -67,20 +92,13 @@ public class DataApiController {
         }
 
         var counterPartyDid = catalogRequest.getCounterPartyDid();
-        var did = didResolverRegistry.resolve(counterPartyDid);
-        if (did.failed()) {
-            response.resume(Response.status(400).entity("Could not resolve DID '%s': %s".formatted(counterPartyDid, did.getFailureDetail())).build());
-        }
-
-        var doc = did.getContent();
-
-        var protocolEndpoint = doc.getService().stream().filter(s -> s.getType().equals("ProtocolEndpoint")).findFirst();
-        if (protocolEndpoint.isEmpty()) {
-            response.resume(Response.status(400).entity("No ProtocolEndpoint service found in DID Document for '%s'".formatted(counterPartyDid)).build());
+        var counterPartyAddress = endpointResolver.resolve(counterPartyDid);
+        if (counterPartyAddress.failed()) {
+            response.resume(Response.status(400).entity(counterPartyAddress.getFailureDetail()).build());
             return;
         }
-        var counterPartyAddress = protocolEndpoint.get().getServiceEndpoint();
-        var catalog = service.requestCatalog(participantContext.getContent(), counterPartyDid, counterPartyAddress, catalogRequest.getProtocol(), catalogRequest.getQuery());
+
+        var catalog = service.requestCatalog(participantContext.getContent(), counterPartyDid, counterPartyAddress.getContent(), catalogRequest.getProtocol(), catalogRequest.getQuery());
 
         catalog.whenComplete((result, throwable) -> {
             try {
@@ -92,6 +110,41 @@ public class DataApiController {
 
     }
 
+    @POST
+    @Path("/catalogs")
+    public void getCatalogs(@PathParam("participantContextId") String participantContextId,
+                            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                            FederatedCatalogRequest catalogRequest,
+                            @Suspended AsyncResponse response) {
+        var participantContext = participantContextService.getParticipantContext(participantContextId);
+        if (participantContext.failed()) {
+            response.resume(Response.status(404).entity("Participant context '%s' not found".formatted(participantContextId)).build());
+            return;
+        }
+        if (catalogRequest.getCounterPartyDids() == null || catalogRequest.getCounterPartyDids().isEmpty()) {
+            response.resume(Response.status(400).entity("At least one counter-party DID is required").build());
+            return;
+        }
+
+        federatedCatalogService.requestCatalogs(participantContext.getContent(), catalogRequest.getCounterPartyDids(), catalogRequest.getProtocol(), catalogRequest.getQuery())
+                .whenComplete((results, throwable) -> {
+                    try {
+                        if (throwable != null) {
+                            response.resume(Response.status(500).entity(throwable.getMessage()).build());
+                            return;
+                        }
+                        var etag = new EntityTag(FederatedCatalogService.etag(results));
+                        if (matches(ifNoneMatch, etag)) {
+                            response.resume(Response.notModified(etag).build());
+                            return;
+                        }
+                        response.resume(Response.ok(toFederatedCatalog(results)).tag(etag).build());
+                    } catch (Throwable mapped) {
+                        response.resume(Response.status(500).entity(mapped.getMessage()).build());
+                    }
+                });
+    }
+
     @POST
     @Path("/data")
     public void getData(@PathParam("participantContextId") String participantContextId, DataRequest dataRequest, @Suspended AsyncResponse response) {
@@ -106,7 +159,7 @@ public class DataApiController {
                             response.resume(Response.status(500).entity(throwable.getMessage()).build());
 
                         } else if (result.succeeded()) {
-                            response.resume(result.getContent());
+                            resumeWithPayload(response, result.getContent());
                         } else {
                             response.resume(Response.status(500).entity(result.getFailureDetail()).build());
                         }
@@ -118,6 +171,27 @@ public class DataApiController {
 
     }
 
+    @POST
+    @Path("/data:batch")
+    @Produces({NDJSON, APPLICATION_JSON})
+    public void getDataBatch(@PathParam("participantContextId") String participantContextId, List<DataRequest> dataRequests, @Suspended AsyncResponse response) {
+        var participantContext = participantContextService.getParticipantContext(participantContextId);
+        if (participantContext.failed()) {
+            response.resume(Response.status(404).entity("Participant context '%s' not found".formatted(participantContextId)).build());
+            return;
+        }
+        if (dataRequests == null || dataRequests.isEmpty()) {
+            response.resume(Response.status(400).entity("At least one data request is required").build());
+            return;
+        }
+
+        // results are written as one JSON object per line, in the order in which they complete
+        var output = new ChunkedOutput<byte[]>(byte[].class);
+        response.resume(Response.ok(output).type(NDJSON).build());
+        var writer = new BatchResultWriter(objectMapper, dataRequests, output, executor);
+        dataRequestService.getData(participantContext.getContent(), dataRequests, writer::add);
+    }
+
     @POST
     @Path("/transfer")
     public void setupTransfer(@PathParam("participantContextId") String participantContextId, DataRequest dataRequest, @Suspended AsyncResponse response) {
@@ -162,6 +236,74 @@ public class DataApiController {
                 });
     }
 
+    private void resumeWithPayload(AsyncResponse response, DataPayload payload) throws IOException {
+        StreamingOutput output = os -> {
+            try (var body = payload.body()) {
+                body.transferTo(os);
+            }
+        };
+        var resumed = response.resume(Response.ok(output)
+                .type(ofNullable(payload.contentType()).orElse(APPLICATION_JSON))
+                .build());
+        if (!resumed) {
+            payload.body().close();
+        }
+    }
+
+    /**
+     * Returns true if the If-None-Match header is {@code *} or lists the entity tag. The tags of the header are compared
+     * as a whole, weak tags match as well.
+     */
+    static boolean matches(@Nullable String ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        var position = 0;
+        while (position < ifNoneMatch.length()) {
+            var c = ifNoneMatch.charAt(position);
+            if (c == ',' || Character.isWhitespace(c)) {
+                position++;
+                continue;
+            }
+            if (c == '*') {
+                return true;
+            }
+            if (ifNoneMatch.startsWith("W/", position)) {
+                position += 2;
+            }
+            String tag;
+            if (position < ifNoneMatch.length() && ifNoneMatch.charAt(position) == '"') {
+                var end = ifNoneMatch.indexOf('"', position + 1);
+                end = end < 0 ? ifNoneMatch.length() : end;
+                tag = ifNoneMatch.substring(position + 1, end);
+                position = end + 1;
+            } else {
+                // lenient towards unquoted tags
+                var end = ifNoneMatch.indexOf(',', position);
+                end = end < 0 ? ifNoneMatch.length() : end;
+                tag = ifNoneMatch.substring(position, end).trim();
+                position = end;
+            }
+            if (tag.equals(etag.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Object> toFederatedCatalog(List<FederatedCatalogService.CatalogResult> results) throws IOException {
+        var catalogs = new LinkedHashMap<String, Object>();
+        var errors = new LinkedHashMap<String, String>();
+        for (var result : results) {
+            if (result.succeeded()) {
+                catalogs.put(result.counterPartyDid(), objectMapper.readTree(result.catalog()));
+            } else {
+                errors.put(result.counterPartyDid(), result.error());
+            }
+        }
+        return Map.of("catalogs", catalogs, "errors", errors);
+    }
+
     private <T> T toResponse(StatusResult<T> result, Throwable throwable) throws Throwable {
         if (throwable == null) {
             if (result.succeeded()) {
@@ -177,5 +319,4 @@ public class DataApiController {
             }
         }
     }
-
 }
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.api.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.edc.participantcontext.spi.service.ParticipantContextService;
+import org.eclipse.edc.virtualized.model.DataJob;
+import org.eclipse.edc.virtualized.service.DataJobService;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+import static jakarta.ws.rs.core.MediaType.SERVER_SENT_EVENTS;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Job-based variant of the all-in-one data transfer of the {@link DataApiController}. A job is submitted and returns
+ * immediately, its progress can be polled or followed as server-sent events, and the result is fetched once it is DONE.
+ */
+@Consumes(APPLICATION_JSON)
+@Produces(APPLICATION_JSON)
+@Path("/v1alpha/participants/{participantContextId}/data-jobs")
+public class DataJobApiController {
+
+    private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(15);
+
+    private final ParticipantContextService participantContextService;
+    private final DataJobService dataJobService;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+
+    public DataJobApiController(ParticipantContextService participantContextService, DataJobService dataJobService, ObjectMapper objectMapper, ScheduledExecutorService scheduler) {
+        this.participantContextService = participantContextService;
+        this.dataJobService = dataJobService;
+        this.objectMapper = objectMapper;
+        this.scheduler = scheduler;
+    }
+
+    @POST
+    public Response submitJob(@PathParam("participantContextId") String participantContextId, DataRequest dataRequest) {
+        var participantContext = participantContextService.getParticipantContext(participantContextId);
+        if (participantContext.failed()) {
+            return Response.status(404).entity("Participant context '%s' not found".formatted(participantContextId)).build();
+        }
+        var job = dataJobService.submit(participantContext.getContent(), dataRequest);
+        return Response.accepted(job)
+                .location(URI.create("/v1alpha/participants/%s/data-jobs/%s".formatted(participantContextId, job.id())))
+                .build();
+    }
+
+    @GET
+    @Path("/{jobId}")
+    public Response getJob(@PathParam("participantContextId") String participantContextId, @PathParam("jobId") String jobId) {
+        var job = dataJobService.findById(participantContextId, jobId);
+        if (job == null) {
+            return notFound(jobId);
+        }
+        return Response.ok(job).build();
+    }
+
+    @GET
+    @Path("/{jobId}/events")
+    @Produces(SERVER_SENT_EVENTS)
+    public void getJobEvents(@PathParam("participantContextId") String participantContextId, @PathParam("jobId") String jobId, @Context SseEventSink sink, @Context Sse sse) {
+        var stream = new DataJobEventStream(participantContextId, dataJobService, objectMapper, sink, sse);
+        if (!stream.open(jobId, scheduler, KEEP_ALIVE_INTERVAL)) {
+            throw new WebApplicationException(notFound(jobId));
+        }
+    }
+
+    @GET
+    @Path("/{jobId}/result")
+    @Produces("*/*")
+    public Response getJobResult(@PathParam("participantContextId") String participantContextId, @PathParam("jobId") String jobId) {
+        var job = dataJobService.findById(participantContextId, jobId);
+        if (job == null) {
+            return notFound(jobId);
+        }
+        if (job.phase() != DataJob.Phase.DONE) {
+            return Response.status(409).type(APPLICATION_JSON).entity("Data job '%s' is %s".formatted(jobId, job.phase())).build();
+        }
+        var result = dataJobService.getResult(jobId);
+        if (result == null) {
+            return notFound(jobId);
+        }
+        return Response.ok(result).type(ofNullable(job.contentType()).orElse(APPLICATION_JSON)).build();
+    }
+
+    private Response notFound(String jobId) {
+        return Response.status(404).type(APPLICATION_JSON).entity("Data job '%s' not found".formatted(jobId)).build();
+    }
+}
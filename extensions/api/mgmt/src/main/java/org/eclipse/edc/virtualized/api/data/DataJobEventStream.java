@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.api.data;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.virtualized.model.DataJob;
+import org.eclipse.edc.virtualized.service.DataJobService;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Pushes the phase changes of a data job to a server-sent event sink. Nothing blocks while the stream is open: phase
+ * changes made by this runtime are sent from the job's subscription, and a scheduled check picks up changes made by
+ * other runtimes, which are only visible in the store, and otherwise sends a keep-alive comment.
+ */
+final class DataJobEventStream {
+    private final String participantContextId;
+    private final DataJobService dataJobService;
+    private final ObjectMapper objectMapper;
+    private final SseEventSink sink;
+    private final Sse sse;
+    private DataJob current;
+    private Runnable unsubscribe;
+    private ScheduledFuture<?> check;
+    private boolean closed;
+
+    DataJobEventStream(String participantContextId, DataJobService dataJobService, ObjectMapper objectMapper, SseEventSink sink, Sse sse) {
+        this.participantContextId = participantContextId;
+        this.dataJobService = dataJobService;
+        this.objectMapper = objectMapper;
+        this.sink = sink;
+        this.sse = sse;
+    }
+
+    /**
+     * Sends the current state of the job and keeps the stream open until the job reaches a final phase.
+     *
+     * @return false if the job does not exist, nothing was sent in that case
+     */
+    synchronized boolean open(String jobId, ScheduledExecutorService scheduler, Duration keepAliveInterval) {
+        // subscribe before reading the current state, so that no phase change is lost in between
+        unsubscribe = dataJobService.subscribe(jobId, this::update);
+        var job = dataJobService.findById(participantContextId, jobId);
+        if (job == null) {
+            unsubscribe.run();
+            return false;
+        }
+        current = job;
+        send(event(job));
+        if (!closed) {
+            check = scheduler.scheduleWithFixedDelay(() -> check(jobId), keepAliveInterval.toMillis(), keepAliveInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    private synchronized void update(DataJob job) {
+        if (closed || current == null || (job.updatedAt() <= current.updatedAt() && job.phase() == current.phase())) {
+            return;
+        }
+        current = job;
+        send(event(job));
+    }
+
+    private synchronized void check(String jobId) {
+        if (closed) {
+            return;
+        }
+        if (sink.isClosed()) {
+            close();
+            return;
+        }
+        try {
+            var stored = ofNullable(dataJobService.findById(participantContextId, jobId)).orElse(current);
+            if (stored.updatedAt() > current.updatedAt() || stored.phase() != current.phase()) {
+                update(stored);
+            } else {
+                // a comment keeps proxies from closing an idle stream and detects readers that went away
+                send(sse.newEventBuilder().comment("keep-alive").build());
+            }
+        } catch (RuntimeException e) {
+            close();
+        }
+    }
+
+    private void send(OutboundSseEvent event) {
+        sink.send(event).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                synchronized (this) {
+                    close();
+                }
+            }
+        });
+        if (current.phase().isFinal()) {
+            close();
+        }
+    }
+
+    private OutboundSseEvent event(DataJob job) {
+        try {
+            return sse.newEventBuilder()
+                    .id(String.valueOf(job.updatedAt()))
+                    .name(job.phase().name())
+                    .data(objectMapper.writeValueAsString(job))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (check != null) {
+            check.cancel(false);
+        }
+        unsubscribe.run();
+        sink.close();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.api.data;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+
+import java.util.List;
+
+public final class FederatedCatalogRequest {
+    private List<String> counterPartyDids = List.of();
+    private String protocol = "dataspace-protocol-http:2025-1";
+    private QuerySpec query = QuerySpec.max();
+
+    public List<String> getCounterPartyDids() {
+        return counterPartyDids;
+    }
+
+    public void setCounterPartyDids(List<String> counterPartyDids) {
+        this.counterPartyDids = counterPartyDids;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
+    public QuerySpec getQuery() {
+        return query;
+    }
+
+    public void setQuery(QuerySpec query) {
+        this.query = query;
+    }
+}
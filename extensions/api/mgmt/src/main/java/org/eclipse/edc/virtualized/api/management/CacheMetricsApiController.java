@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.api.management;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import org.eclipse.edc.virtualized.service.FederatedCatalogService;
+import org.eclipse.edc.virtualized.service.ProtocolEndpointResolver;
+
+import java.util.Map;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+
+/**
+ * Exposes hit/miss statistics of the caches used by the data API.
+ */
+@Produces(APPLICATION_JSON)
+@Path("/v1alpha/metrics/caches")
+public class CacheMetricsApiController {
+
+    private final ProtocolEndpointResolver endpointResolver;
+    private final FederatedCatalogService federatedCatalogService;
+
+    public CacheMetricsApiController(ProtocolEndpointResolver endpointResolver, FederatedCatalogService federatedCatalogService) {
+        this.endpointResolver = endpointResolver;
+        this.federatedCatalogService = federatedCatalogService;
+    }
+
+    @GET
+    public Map<String, Object> getCacheMetrics() {
+        return Map.of("protocolEndpoints", endpointResolver.stats(), "catalogs", federatedCatalogService.stats());
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.api.management;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import org.eclipse.edc.virtualized.service.DataRequestService;
+import org.eclipse.edc.virtualized.service.StageTimings;
+
+import java.util.Map;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+
+/**
+ * Exposes the number of data requests in flight and how long their individual steps take.
+ */
+@Produces(APPLICATION_JSON)
+@Path("/v1alpha/metrics/data-requests")
+public class DataRequestMetricsApiController {
+
+    private final DataRequestService dataRequestService;
+    private final StageTimings timings;
+
+    public DataRequestMetricsApiController(DataRequestService dataRequestService, StageTimings timings) {
+        this.dataRequestService = dataRequestService;
+        this.timings = timings;
+    }
+
+    @GET
+    public Map<String, Object> getDataRequestMetrics() {
+        return Map.of("inFlight", dataRequestService.inFlight(), "stages", timings.stats());
+    }
+}
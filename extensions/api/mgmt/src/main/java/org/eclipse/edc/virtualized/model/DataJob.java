@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.model;
+
+import org.eclipse.edc.virtualized.api.data.DataRequest;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An asynchronous all-in-one data request. The job runs the contract negotiation, the transfer process and the
+ * download in the background and keeps track of its progress, the result is stored once the download completed.
+ *
+ * @param id                   the job ID
+ * @param participantContextId the participant context that submitted the job
+ * @param providerId           the DID of the provider
+ * @param policyId             the ID of the offer
+ * @param policyType           the policy type of the offer, may be null
+ * @param phase                the current phase
+ * @param error                the failure detail if the job failed, null otherwise
+ * @param contentType          the content type of the result, null until the job is done
+ * @param createdAt            creation time in epoch millis
+ * @param updatedAt            time of the last phase change in epoch millis
+ */
+public record DataJob(String id,
+                      String participantContextId,
+                      String providerId,
+                      String policyId,
+                      @Nullable String policyType,
+                      Phase phase,
+                      @Nullable String error,
+                      @Nullable String contentType,
+                      long createdAt,
+                      long updatedAt) {
+
+    public static DataJob create(String id, String participantContextId, DataRequest dataRequest, long now) {
+        return new DataJob(id, participantContextId, dataRequest.providerId(), dataRequest.policyId(), dataRequest.policyType(), Phase.NEGOTIATING, null, null, now, now);
+    }
+
+    public DataRequest dataRequest() {
+        return new DataRequest(providerId, policyId, policyType);
+    }
+
+    public DataJob withPhase(Phase newPhase, long now) {
+        return new DataJob(id, participantContextId, providerId, policyId, policyType, newPhase, error, contentType, createdAt, now);
+    }
+
+    public DataJob done(@Nullable String resultContentType, long now) {
+        return new DataJob(id, participantContextId, providerId, policyId, policyType, Phase.DONE, null, resultContentType, createdAt, now);
+    }
+
+    public DataJob failed(String failureDetail, long now) {
+        return new DataJob(id, participantContextId, providerId, policyId, policyType, Phase.FAILED, failureDetail, null, createdAt, now);
+    }
+
+    public enum Phase {
+        NEGOTIATING, TRANSFERRING, DOWNLOADING, DONE, FAILED;
+
+        public boolean isFinal() {
+            return this == DONE || this == FAILED;
+        }
+    }
+}
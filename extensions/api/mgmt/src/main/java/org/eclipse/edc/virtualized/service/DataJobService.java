@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.service;
+
+import org.eclipse.edc.participantcontext.spi.service.ParticipantContextService;
+import org.eclipse.edc.participantcontext.spi.types.ParticipantContext;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.result.ServiceResult;
+import org.eclipse.edc.virtualized.api.data.DataRequest;
+import org.eclipse.edc.virtualized.model.DataJob;
+import org.eclipse.edc.virtualized.store.DataJobStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs data requests as asynchronous jobs. Submitting a job returns immediately, the job then runs the contract
+ * negotiation, the transfer process and the download in the background. Every phase change is persisted and pushed to
+ * the subscribers of the job, and the downloaded data is stored so that it can be fetched later.
+ * <p>
+ * While a job runs, its row is heartbeated several times per stale threshold. Jobs that were interrupted by a restart
+ * are picked up again by {@link #resumeUnfinished()}, a job counts as interrupted once it has had no heartbeat for
+ * longer than the stale threshold, so long downloads are not picked up a second time.
+ */
+public class DataJobService {
+
+    private final DataRequestService dataRequestService;
+    private final DataJobStore store;
+    private final ParticipantContextService participantContextService;
+    private final Monitor monitor;
+    private final Clock clock;
+    private final Duration staleThreshold;
+    private final long maxResultSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Map<String, Set<Consumer<DataJob>>> subscribers = new ConcurrentHashMap<>();
+
+    public DataJobService(DataRequestService dataRequestService, DataJobStore store, ParticipantContextService participantContextService, Monitor monitor, Clock clock,
+                          Duration staleThreshold, long maxResultSize, ScheduledExecutorService scheduler, Executor executor) {
+        this.dataRequestService = dataRequestService;
+        this.store = store;
+        this.participantContextService = participantContextService;
+        this.monitor = monitor;
+        this.clock = clock;
+        this.staleThreshold = staleThreshold;
+        this.maxResultSize = maxResultSize;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a job for the data request and starts it in the background.
+     *
+     * @param participantContext the participant context
+     * @param dataRequest        the data request
+     * @return the created job
+     */
+    public DataJob submit(ParticipantContext participantContext, DataRequest dataRequest) {
+        var job = DataJob.create(UUID.randomUUID().toString(), participantContext.getParticipantContextId(), dataRequest, clock.millis());
+        store.create(job);
+        run(participantContext, job);
+        return job;
+    }
+
+    /**
+     * Retrieves a job of the given participant context.
+     *
+     * @return the job, or null if it does not exist or belongs to another participant context
+     */
+    @Nullable
+    public DataJob findById(String participantContextId, String jobId) {
+        var job = store.findById(jobId);
+        return job != null && job.participantContextId().equals(participantContextId) ? job : null;
+    }
+
+    /**
+     * Retrieves the downloaded data of a job that is DONE.
+     *
+     * @return the data, or null if the job is not done
+     */
+    public byte[] getResult(String jobId) {
+        return store.getResult(jobId);
+    }
+
+    /**
+     * Registers a subscriber that receives every phase change of the job.
+     *
+     * @param jobId      the job ID
+     * @param subscriber receives the updated job
+     * @return removes the subscriber when run
+     */
+    public Runnable subscribe(String jobId, Consumer<DataJob> subscriber) {
+        subscribers.computeIfAbsent(jobId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        return () -> subscribers.computeIfPresent(jobId, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Restarts the jobs that were interrupted, e.g. by a restart of the runtime. A job is only restarted by the runtime
+     * that manages to claim it, so that a job is not run twice when several runtimes start at the same time.
+     */
+    public void resumeUnfinished() {
+        var heartbeatBefore = clock.millis() - staleThreshold.toMillis();
+        var jobs = store.findUnfinished(heartbeatBefore);
+        for (var job : jobs) {
+            var claimed = job.withPhase(DataJob.Phase.NEGOTIATING, clock.millis());
+            if (!store.claim(job, claimed, heartbeatBefore)) {
+                continue;
+            }
+            var participantContext = participantContextService.getParticipantContext(job.participantContextId());
+            if (participantContext.failed()) {
+                changed(claimed.failed("Participant context '%s' not found".formatted(job.participantContextId()), clock.millis()));
+                continue;
+            }
+            monitor.info("Resuming data job %s".formatted(job.id()));
+            run(participantContext.getContent(), claimed);
+        }
+    }
+
+    private void run(ParticipantContext participantContext, DataJob job) {
+        var current = new AtomicReference<>(job);
+        var heartbeatInterval = Math.max(staleThreshold.toMillis() / 4, 1);
+        var heartbeat = scheduler.scheduleAtFixedRate(() -> heartbeat(job.id()), heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+        dataRequestService.getData(participantContext, job.dataRequest(), phase -> {
+                    if (current.get().phase() != phase) {
+                        changed(current.updateAndGet(j -> j.withPhase(phase, clock.millis())));
+                    }
+                })
+                // reading the body blocks, so it runs on the executor rather than on the thread of the HTTP client
+                .thenApplyAsync(this::readResult, executor)
+                .whenComplete((result, throwable) -> {
+                    heartbeat.cancel(false);
+                    try {
+                        if (throwable != null) {
+                            changed(current.get().failed(unwrap(throwable).getMessage(), clock.millis()));
+                        } else if (result.failed()) {
+                            changed(current.get().failed(result.getFailureDetail(), clock.millis()));
+                        } else {
+                            var done = current.get().done(result.getContent().contentType(), clock.millis());
+                            store.complete(done, result.getContent().data());
+                            notify(done);
+                        }
+                    } catch (Exception e) {
+                        monitor.severe("Could not update data job %s".formatted(job.id()), e);
+                    }
+                });
+    }
+
+    private ServiceResult<JobResult> readResult(ServiceResult<DataPayload> result) {
+        if (result.failed()) {
+            return ServiceResult.unexpected(result.getFailureDetail());
+        }
+        var payload = result.getContent();
+        try (var body = payload.body()) {
+            var data = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxResultSize + 1));
+            if (data.length > maxResultSize) {
+                return ServiceResult.unexpected("Result exceeds the maximum size of %d bytes".formatted(maxResultSize));
+            }
+            return ServiceResult.success(new JobResult(payload.contentType(), data));
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private void heartbeat(String jobId) {
+        try {
+            store.heartbeat(jobId, clock.millis());
+        } catch (Exception e) {
+            monitor.warning("Could not record the heartbeat of data job %s".formatted(jobId), e);
+        }
+    }
+
+    private void changed(DataJob job) {
+        store.update(job);
+        notify(job);
+    }
+
+    private void notify(DataJob job) {
+        var jobSubscribers = subscribers.get(job.id());
+        if (jobSubscribers != null) {
+            jobSubscribers.forEach(s -> s.accept(job));
+        }
+    }
+
+    private Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    private record JobResult(@Nullable String contentType, byte[] data) {
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.service;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The payload downloaded from a provider data plane. The body is not buffered, callers must consume and close it.
+ *
+ * @param contentType the content type reported by the data plane, if any
+ * @param body        the response body stream
+ */
+public record DataPayload(@Nullable String contentType, InputStream body) {
+
+    /**
+     * Returns the same payload, whose body runs the action once it is closed.
+     */
+    public DataPayload onClose(Runnable action) {
+        return new DataPayload(contentType, new FilterInputStream(body) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!closed) {
+                        closed = true;
+                        action.run();
+                    }
+                }
+            }
+        });
+    }
+}
@@ -25,23 +25,36 @@ import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcess
 import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcessStates;
 import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferRequest;
 import org.eclipse.edc.edr.spi.store.EndpointDataReferenceStore;
-import org.eclipse.edc.iam.did.spi.document.Service;
-import org.eclipse.edc.iam.did.spi.resolution.DidResolverRegistry;
 import org.eclipse.edc.participantcontext.spi.types.ParticipantContext;
 import org.eclipse.edc.policy.model.PolicyType;
 import org.eclipse.edc.spi.EdcException;
-import org.eclipse.edc.spi.result.Result;
 import org.eclipse.edc.spi.result.ServiceResult;
 import org.eclipse.edc.spi.types.domain.DataAddress;
 import org.eclipse.edc.virtualized.api.data.DataRequest;
+import org.eclipse.edc.virtualized.model.DataJob;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
-import static java.net.http.HttpClient.newHttpClient;
 import static java.util.Optional.ofNullable;
 import static org.eclipse.edc.virtualized.service.Data.MEMBERSHIP_POLICY;
 import static org.eclipse.edc.virtualized.service.Data.POLICY_MAP;
@@ -51,37 +64,105 @@ import static org.eclipse.edc.virtualized.service.Data.POLICY_MAP;
  * I implemented this because there is no multi-tenant management API yet that.
  */
 public class DataRequestService {
+    private static final int MAX_ERROR_BODY_SIZE = 4096;
 
     private final ContractNegotiationService contractNegotiationService;
     private final TransferProcessService transferProcessService;
-    private final DidResolverRegistry didResolverRegistry;
+    private final ProtocolEndpointResolver endpointResolver;
     private final EndpointDataReferenceStore edrStore;
-
-    public DataRequestService(ContractNegotiationService contractNegotiationService, TransferProcessService transferProcessService, DidResolverRegistry didResolverRegistry, EndpointDataReferenceStore edrStore) {
+    private final ProcessCompletionRegistry completionRegistry;
+    private final HttpClient httpClient;
+    private final EdrCache edrCache;
+    private final int batchConcurrency;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final RequestPermits permits;
+    private final StageTimings timings;
+
+    public DataRequestService(ContractNegotiationService contractNegotiationService, TransferProcessService transferProcessService, ProtocolEndpointResolver endpointResolver,
+                              EndpointDataReferenceStore edrStore, ProcessCompletionRegistry completionRegistry, HttpClient httpClient, EdrCache edrCache, int batchConcurrency,
+                              Executor executor, int maxConcurrency, StageTimings timings) {
         this.contractNegotiationService = contractNegotiationService;
         this.transferProcessService = transferProcessService;
-        this.didResolverRegistry = didResolverRegistry;
+        this.endpointResolver = endpointResolver;
         this.edrStore = edrStore;
+        this.completionRegistry = completionRegistry;
+        this.httpClient = httpClient;
+        this.edrCache = edrCache;
+        this.batchConcurrency = batchConcurrency;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new RequestPermits(maxConcurrency);
+        this.timings = timings;
+    }
+
+    public CompletableFuture<ServiceResult<DataPayload>> getData(ParticipantContext participantContext, DataRequest dataRequest) {
+        return getData(participantContext, dataRequest, phase -> {
+        });
     }
 
-    public CompletableFuture<ServiceResult<Object>> getData(ParticipantContext participantContext, DataRequest dataRequest) {
-        return initiateContractNegotiation(participantContext, dataRequest)
-                .thenCompose(this::waitForContractNegotiation)
-                .thenCompose(agreement -> startTransferProcess(participantContext, agreement))
-                .thenCompose(this::waitForTransferProcess)
-                .thenCompose(transferProcess -> getEdr(transferProcess.getId()))
-                .thenCompose(this::downloadData)
-                .thenApply(ServiceResult::success);
+    /**
+     * Runs a data request and reports every phase it enters. Phases are skipped if a cached agreement or EDR is reused.
+     *
+     * @param participantContext the participant context
+     * @param dataRequest        the data request
+     * @param progress           receives NEGOTIATING, TRANSFERRING and DOWNLOADING as the request enters these phases
+     * @return a future that completes with the downloaded data
+     */
+    public CompletableFuture<ServiceResult<DataPayload>> getData(ParticipantContext participantContext, DataRequest dataRequest, Consumer<DataJob.Phase> progress) {
+        // the permit is held until the body of the payload has been read and closed
+        return withPermit(release -> resolveEdr(participantContext, dataRequest, progress)
+                .thenComposeAsync(edr -> {
+                    progress.accept(DataJob.Phase.DOWNLOADING);
+                    return timed("download", () -> downloadData(edr));
+                }, executor)
+                .thenApply(payload -> ServiceResult.success(payload.onClose(release))));
+    }
+
+    /**
+     * Runs a batch of data requests, with at most a configured number of requests in flight at any time. The callback
+     * is invoked for every request as soon as it completes, i.e. in completion order and not in request order. A
+     * request counts as in flight until the stage returned by the callback completes, so that payloads which have not
+     * been read yet keep holding their connection and permit against the limit.
+     *
+     * @param participantContext the participant context
+     * @param dataRequests       the data requests
+     * @param callback           receives the index of the data request in the list, and its result, and returns a stage
+     *                           that completes once the payload has been consumed and closed
+     * @return a future that completes once every request has completed and its payload was consumed
+     */
+    public CompletableFuture<Void> getData(ParticipantContext participantContext, List<DataRequest> dataRequests,
+                                           BiFunction<Integer, ServiceResult<DataPayload>, CompletionStage<Void>> callback) {
+        // resolve every provider DID once up front, concurrently and off the calling thread, so that the requests hit the
+        // cache; a failed resolution is reported by the requests of that provider
+        var resolutions = dataRequests.stream().map(DataRequest::providerId).distinct()
+                .map(did -> CompletableFuture.runAsync(() -> endpointResolver.resolve(did), executor).exceptionally(throwable -> null))
+                .toArray(CompletableFuture[]::new);
+
+        var pending = new ConcurrentLinkedQueue<Integer>();
+        IntStream.range(0, dataRequests.size()).forEach(pending::add);
+
+        return CompletableFuture.allOf(resolutions).thenCompose(v -> {
+            var workers = IntStream.range(0, Math.min(batchConcurrency, dataRequests.size()))
+                    .mapToObj(i -> runNext(participantContext, dataRequests, pending, callback))
+                    .toArray(CompletableFuture[]::new);
+            return CompletableFuture.allOf(workers);
+        });
     }
 
     public CompletableFuture<ServiceResult<Map<String, Object>>> setupTransfer(ParticipantContext participantContext, DataRequest dataRequest) {
-        return initiateContractNegotiation(participantContext, dataRequest)
-                .thenCompose(this::waitForContractNegotiation)
-                .thenCompose(contractNegotiation -> startTransferProcess(participantContext, contractNegotiation))
-                .thenCompose(this::waitForTransferProcess)
-                .thenCompose(transferProcess -> getEdr(transferProcess.getId()))
-                .thenCompose(edr -> CompletableFuture.completedFuture(edr.getProperties()))
-                .thenApply(ServiceResult::success);
+        return withPermit(release -> timed("negotiation", () -> initiateContractNegotiation(participantContext, dataRequest).thenCompose(this::waitForContractNegotiation))
+                .thenComposeAsync(agreement -> timed("transfer", () -> startTransferProcess(participantContext, agreement).thenCompose(this::waitForTransferProcess)), executor)
+                .thenApply(DataAddress::getProperties)
+                .thenApply(ServiceResult::<Map<String, Object>>success)
+                .whenComplete((result, throwable) -> release.run()));
+    }
+
+    /**
+     * Returns the number of data requests that are currently being processed, including those waiting for a permit.
+     */
+    public int inFlight() {
+        return maxConcurrency - permits.available() + permits.waiting();
     }
 
     public CompletableFuture<DataAddress> getEdr(String transferProcessId) {
@@ -92,8 +173,108 @@ public class DataRequestService {
         return CompletableFuture.completedFuture(edr.getContent());
     }
 
+    private CompletableFuture<Void> runNext(ParticipantContext participantContext, List<DataRequest> dataRequests, Queue<Integer> pending,
+                                            BiFunction<Integer, ServiceResult<DataPayload>, CompletionStage<Void>> callback) {
+        var index = pending.poll();
+        if (index == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.completedFuture(dataRequests.get(index))
+                .thenCompose(dataRequest -> getData(participantContext, dataRequest))
+                .handle((result, throwable) -> throwable == null ? result : ServiceResult.<DataPayload>unexpected(unwrap(throwable).getMessage()))
+                .thenCompose(result -> callback.apply(index, result))
+                // the next request starts once this payload has been consumed, whether or not that succeeded
+                .handle((v, throwable) -> (Void) null)
+                .thenCompose(v -> runNext(participantContext, dataRequests, pending, callback));
+    }
+
+    /**
+     * Runs a data request on the executor once one of the limited number of permits is available. Requests that wait
+     * for a permit are queued without occupying a thread. The request receives the action that releases its permit,
+     * and must run it once it no longer needs the permit; the permit is also released if the request fails. All
+     * blocking steps of a request run on the executor, and never on the threads that complete the negotiation and
+     * transfer futures.
+     */
+    private <T> CompletableFuture<T> withPermit(Function<Runnable, CompletableFuture<T>> request) {
+        var future = new CompletableFuture<T>();
+        permits.acquire(() -> {
+            var released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            };
+            try {
+                executor.execute(() -> {
+                    try {
+                        request.apply(release).whenComplete((result, throwable) -> {
+                            if (throwable != null) {
+                                release.run();
+                                future.completeExceptionally(throwable);
+                            } else {
+                                future.complete(result);
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        release.run();
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                release.run();
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private <T> CompletableFuture<T> timed(String stage, Supplier<CompletableFuture<T>> step) {
+        var start = System.nanoTime();
+        return step.get().whenComplete((result, throwable) -> timings.record(stage, System.nanoTime() - start, throwable == null));
+    }
+
+    private Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    /**
+     * Returns a valid EDR for the requested offer. A cached EDR is reused as long as its token is valid, a cached
+     * agreement is reused to start a new transfer process, otherwise a new contract negotiation is started.
+     */
+    private CompletableFuture<DataAddress> resolveEdr(ParticipantContext participantContext, DataRequest dataRequest, Consumer<DataJob.Phase> progress) {
+        var key = new EdrCache.Key(participantContext.getParticipantContextId(), dataRequest.providerId(), dataRequest.policyId());
+        var cached = edrCache.get(key);
+        if (cached == null) {
+            return negotiateAndTransfer(participantContext, dataRequest, key, progress);
+        }
+
+        var edr = edrStore.resolveByTransferProcess(cached.transferProcessId());
+        if (edr.succeeded() && edrCache.isValid(cached, edr.getContent())) {
+            return CompletableFuture.completedFuture(edr.getContent());
+        }
+
+        return transfer(participantContext, cached.agreement(), key, progress)
+                .exceptionallyComposeAsync(throwable -> {
+                    edrCache.invalidate(key);
+                    return negotiateAndTransfer(participantContext, dataRequest, key, progress);
+                }, executor);
+    }
+
+    private CompletableFuture<DataAddress> negotiateAndTransfer(ParticipantContext participantContext, DataRequest dataRequest, EdrCache.Key key, Consumer<DataJob.Phase> progress) {
+        progress.accept(DataJob.Phase.NEGOTIATING);
+        return timed("negotiation", () -> initiateContractNegotiation(participantContext, dataRequest).thenCompose(this::waitForContractNegotiation))
+                .thenComposeAsync(agreement -> transfer(participantContext, agreement, key, progress), executor);
+    }
+
+    private CompletableFuture<DataAddress> transfer(ParticipantContext participantContext, ContractAgreement agreement, EdrCache.Key key, Consumer<DataJob.Phase> progress) {
+        progress.accept(DataJob.Phase.TRANSFERRING);
+        return timed("transfer", () -> startTransferProcess(participantContext, agreement)
+                .thenCompose(transferProcess -> waitForTransferProcess(transferProcess)
+                        .thenApply(edr -> edrCache.put(key, agreement, transferProcess.getId(), edr))));
+    }
+
     private CompletableFuture<String> initiateContractNegotiation(ParticipantContext participantContext, DataRequest dataRequest) {
-        var addressForDid = getAddressForDid(dataRequest.providerId());
+        var addressForDid = endpointResolver.resolve(dataRequest.providerId());
         if (addressForDid.failed()) {
             return CompletableFuture.failedFuture(new RuntimeException("Could not resolve address for did: %s".formatted(addressForDid.getFailureDetail())));
         }
@@ -119,43 +300,24 @@ public class DataRequestService {
         return CompletableFuture.completedFuture(negotiation.getId());
     }
 
-    private Result<String> getAddressForDid(String counterPartyDid) {
-        var did = didResolverRegistry.resolve(counterPartyDid);
-        if (did.failed()) {
-            return did.mapFailure();
-        }
-
-        var doc = did.getContent();
-
-        var protocolEndpoint = doc.getService().stream().filter(s -> s.getType().equals("ProtocolEndpoint")).findFirst();
-        return Result.from(protocolEndpoint).map(Service::getServiceEndpoint);
-    }
-
     private CompletableFuture<ContractAgreement> waitForContractNegotiation(String contractNegotiationId) {
-
-        try {
-            ContractNegotiationStates state;
-            do {
-                state = ContractNegotiationStates.valueOf(contractNegotiationService.getState(contractNegotiationId));
-                Thread.sleep(1000);
-            } while (state != ContractNegotiationStates.FINALIZED && state != ContractNegotiationStates.TERMINATED);
-
-            if (state == ContractNegotiationStates.TERMINATED) {
-                return CompletableFuture.failedFuture(new EdcException("Contract negotiation terminated"));
-            }
-
-            return CompletableFuture.completedFuture(contractNegotiationService.getForNegotiation(contractNegotiationId));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return CompletableFuture.failedFuture(e);
+        var future = completionRegistry.awaitNegotiation(contractNegotiationId);
+
+        // the negotiation may have reached a final state before the future was registered
+        var state = ContractNegotiationStates.valueOf(contractNegotiationService.getState(contractNegotiationId));
+        if (state == ContractNegotiationStates.FINALIZED) {
+            completionRegistry.completeNegotiation(contractNegotiationId, contractNegotiationService.getForNegotiation(contractNegotiationId));
+        } else if (state == ContractNegotiationStates.TERMINATED) {
+            completionRegistry.failNegotiation(contractNegotiationId, "Contract negotiation terminated");
         }
+        return future;
     }
 
     private CompletableFuture<TransferProcess> startTransferProcess(ParticipantContext participantContext, ContractAgreement agreement) {
 
         var request = TransferRequest.Builder.newInstance()
                 .contractId(agreement.getId())
-                .counterPartyAddress(getAddressForDid(agreement.getProviderId()).getContent())
+                .counterPartyAddress(endpointResolver.resolve(agreement.getProviderId()).getContent())
                 .protocol("dataspace-protocol-http:2025-1")
                 .transferType("HttpData-PULL")
                 .dataDestination(DataAddress.Builder.newInstance().type("httpData").build())
@@ -169,27 +331,29 @@ public class DataRequestService {
         }
     }
 
-    private CompletableFuture<TransferProcess> waitForTransferProcess(TransferProcess transferProcess) {
-        try {
-            TransferProcessStates state;
-            do {
-                state = TransferProcessStates.valueOf(transferProcessService.getState(transferProcess.getId()));
-                Thread.sleep(1000);
-            } while (state != TransferProcessStates.STARTED && state != TransferProcessStates.TERMINATED);
-
-            var tp = transferProcessService.findById(transferProcess.getId());
-            if (state == TransferProcessStates.TERMINATED) {
-                return CompletableFuture.failedFuture(new EdcException("Transfer process terminated: %s".formatted(ofNullable(tp).map(TransferProcess::getErrorDetail).orElse("provider terminated"))));
-            }
-            return CompletableFuture.completedFuture(tp);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return CompletableFuture.failedFuture(e);
+    private CompletableFuture<DataAddress> waitForTransferProcess(TransferProcess transferProcess) {
+        var transferProcessId = transferProcess.getId();
+        var future = completionRegistry.awaitTransfer(transferProcessId);
+
+        // the transfer process may have reached a final state before the future was registered
+        var state = TransferProcessStates.valueOf(transferProcessService.getState(transferProcessId));
+        if (state == TransferProcessStates.STARTED) {
+            getEdr(transferProcessId).whenComplete((edr, throwable) -> {
+                if (throwable == null) {
+                    completionRegistry.completeTransfer(transferProcessId, edr);
+                } else {
+                    completionRegistry.failTransfer(transferProcessId, throwable.getMessage());
+                }
+            });
+        } else if (state == TransferProcessStates.TERMINATED) {
+            var tp = transferProcessService.findById(transferProcessId);
+            completionRegistry.failTransfer(transferProcessId, "Transfer process terminated: %s".formatted(ofNullable(tp).map(TransferProcess::getErrorDetail).orElse("provider terminated")));
         }
+        return future;
     }
 
 
-    private CompletableFuture<String> downloadData(DataAddress edr) {
+    private CompletableFuture<DataPayload> downloadData(DataAddress edr) {
 
         // make HTTP request
         if (edr.getType().equals("https://w3id.org/idsa/v4.1/HTTP")) {
@@ -206,14 +370,23 @@ public class DataRequestService {
                     .GET()
                     .header("Authorization", token)
                     .build();
-            return newHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
                     .thenCompose(response -> {
                         if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                            return CompletableFuture.completedFuture(response.body());
+                            var contentType = response.headers().firstValue("Content-Type").orElse(null);
+                            return CompletableFuture.completedFuture(new DataPayload(contentType, response.body()));
                         }
-                        return CompletableFuture.failedFuture(new EdcException("Dataplane request failed: HTTP Status code: %s, message: %s".formatted(response.statusCode(), response.body())));
+                        return CompletableFuture.failedFuture(new EdcException("Dataplane request failed: HTTP Status code: %s, message: %s".formatted(response.statusCode(), readErrorBody(response.body()))));
                     });
         }
         return CompletableFuture.failedFuture(new EdcException("EDR type not supported: %s".formatted(edr.getType())));
     }
+
+    private String readErrorBody(InputStream body) {
+        try (body) {
+            return new String(body.readNBytes(MAX_ERROR_BODY_SIZE), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.agreement.ContractAgreement;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Participant-scoped cache of finalized contract agreements and the transfer processes started for them, so that
+ * repeated data requests for the same offer can reuse the EDR instead of running a new contract negotiation and
+ * transfer process. The EDR itself is always resolved from the {@code EndpointDataReferenceStore}, this cache only
+ * remembers which transfer process to look up. An EDR is considered valid until the {@code exp} claim of its token,
+ * or until the configured TTL if the token carries no expiry. When full, the least recently used entry is evicted.
+ */
+public class EdrCache {
+    private static final String AUTHORIZATION = "https://w3id.org/edc/v0.0.1/ns/authorization";
+    private static final Duration EXPIRY_SKEW = Duration.ofSeconds(10);
+
+    private final TtlCache<Key, Entry> entries;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public EdrCache(Duration ttl, int maxSize, ObjectMapper objectMapper, Clock clock) {
+        this.entries = new TtlCache<>(ttl, maxSize, clock);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached entry for the given key, or null if there is none or it is older than the TTL.
+     */
+    @Nullable
+    public Entry get(Key key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches the agreement and transfer process for the given key.
+     *
+     * @return the EDR, for chaining
+     */
+    public DataAddress put(Key key, ContractAgreement agreement, String transferProcessId, DataAddress edr) {
+        entries.put(key, new Entry(agreement, transferProcessId, clock.instant()));
+        return edr;
+    }
+
+    public void invalidate(Key key) {
+        entries.invalidate(key);
+    }
+
+    /**
+     * Checks whether the EDR can still be used, i.e. its token does not expire within the next few seconds.
+     */
+    public boolean isValid(Entry entry, DataAddress edr) {
+        var expiresAt = tokenExpiry(edr).orElseGet(() -> entry.createdAt().plus(ttl));
+        return clock.instant().plus(EXPIRY_SKEW).isBefore(expiresAt);
+    }
+
+    private Optional<Instant> tokenExpiry(DataAddress edr) {
+        var token = edr.getStringProperty(AUTHORIZATION);
+        if (token == null) {
+            return Optional.empty();
+        }
+        var parts = token.split("\\.");
+        if (parts.length < 2) {
+            return Optional.empty();
+        }
+        try {
+            var claims = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            var exp = claims.get("exp");
+            return exp != null && exp.canConvertToLong() ? Optional.of(Instant.ofEpochSecond(exp.asLong())) : Optional.empty();
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    public record Key(String participantContextId, String providerId, String policyId) {
+    }
+
+    public record Entry(ContractAgreement agreement, String transferProcessId, Instant createdAt) {
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.connector.controlplane.services.spi.catalog.CatalogService;
+import org.eclipse.edc.participantcontext.spi.types.ParticipantContext;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Requests the catalogs of several counter-parties concurrently. Every counter-party gets its own timeout, and a failing
+ * or slow counter-party does not fail the whole request. Successful responses are cached per participant,
+ * counter-party and query. DID resolution may block, it runs on the given executor.
+ */
+public class FederatedCatalogService {
+
+    private final CatalogService catalogService;
+    private final ProtocolEndpointResolver endpointResolver;
+    private final TtlCache<CacheKey, CatalogResult> cache;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Executor executor;
+
+    public FederatedCatalogService(CatalogService catalogService, ProtocolEndpointResolver endpointResolver, TtlCache<CacheKey, CatalogResult> cache,
+                                   ObjectMapper objectMapper, Duration timeout, Executor executor) {
+        this.catalogService = catalogService;
+        this.endpointResolver = endpointResolver;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.executor = executor;
+    }
+
+    /**
+     * Requests the catalogs of all given counter-parties.
+     *
+     * @param participantContext the participant context on whose behalf the catalogs are requested
+     * @param counterPartyDids   the DIDs of the counter-parties
+     * @param protocol           the protocol to use
+     * @param query              the query sent to every counter-party
+     * @return a future that completes with one result per counter-party, in the order of the given DIDs. It never completes exceptionally.
+     */
+    public CompletableFuture<List<CatalogResult>> requestCatalogs(ParticipantContext participantContext, List<String> counterPartyDids, String protocol, QuerySpec query) {
+        var queryKey = toQueryKey(query);
+        var futures = counterPartyDids.stream()
+                .distinct()
+                .map(did -> requestCatalog(participantContext, did, protocol, query, new CacheKey(participantContext.getParticipantContextId(), did, protocol, queryKey)))
+                .toList();
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(v -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Computes an entity tag for a combined response, which changes whenever any of the catalogs or errors changes.
+     */
+    public static String etag(List<CatalogResult> results) {
+        var combined = results.stream()
+                .map(r -> r.counterPartyDid() + "=" + (r.succeeded() ? r.etag() : "error:" + r.error()))
+                .collect(Collectors.joining("\n"));
+        return CatalogResult.sha256(combined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the current catalog cache statistics.
+     */
+    public Stats stats() {
+        return new Stats(cache.hits(), cache.misses(), cache.size());
+    }
+
+    private CompletableFuture<CatalogResult> requestCatalog(ParticipantContext participantContext, String did, String protocol, QuerySpec query, CacheKey key) {
+        var cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return CompletableFuture.supplyAsync(() -> endpointResolver.resolve(did), executor)
+                .thenCompose(address -> {
+                    if (address.failed()) {
+                        return CompletableFuture.completedFuture(CatalogResult.failure(did, address.getFailureDetail()));
+                    }
+                    return catalogService.requestCatalog(participantContext, did, address.getContent(), protocol, query)
+                            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                            .thenApply(result -> result.succeeded() ?
+                                    CatalogResult.success(did, result.getContent()) :
+                                    CatalogResult.failure(did, result.getFailureDetail()));
+                })
+                .exceptionally(throwable -> CatalogResult.failure(did, describe(throwable)))
+                .thenApply(result -> {
+                    if (result.succeeded()) {
+                        cache.put(key, result);
+                    }
+                    return result;
+                });
+    }
+
+    private String describe(Throwable throwable) {
+        var cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof TimeoutException) {
+            return "Timed out after %s".formatted(timeout);
+        }
+        return cause.getMessage();
+    }
+
+    private String toQueryKey(QuerySpec query) {
+        try {
+            return objectMapper.writeValueAsString(query);
+        } catch (JsonProcessingException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Catalog cache statistics.
+     *
+     * @param hits   number of catalogs served from the cache
+     * @param misses number of catalogs requested from the counter-party
+     * @param size   current number of cached catalogs
+     */
+    public record Stats(long hits, long misses, int size) {
+    }
+
+    public record CacheKey(String participantContextId, String counterPartyDid, String protocol, String query) {
+    }
+
+    /**
+     * The catalog response of a single counter-party.
+     *
+     * @param counterPartyDid the DID of the counter-party
+     * @param catalog         the raw catalog, null if the request failed
+     * @param etag            a hash over the raw catalog, null if the request failed
+     * @param error           the failure detail, null if the request succeeded
+     */
+    public record CatalogResult(String counterPartyDid, byte[] catalog, @Nullable String etag, @Nullable String error) {
+
+        static CatalogResult success(String counterPartyDid, byte[] catalog) {
+            return new CatalogResult(counterPartyDid, catalog, sha256(catalog), null);
+        }
+
+        static CatalogResult failure(String counterPartyDid, String error) {
+            return new CatalogResult(counterPartyDid, null, null, error);
+        }
+
+        public boolean succeeded() {
+            return error == null;
+        }
+
+        static String sha256(byte[] bytes) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            } catch (NoSuchAlgorithmException e) {
+                throw new EdcException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.service;
+
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractnegotiation.ContractNegotiationFinalized;
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractnegotiation.ContractNegotiationTerminated;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.agreement.ContractAgreement;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessStarted;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessTerminated;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.event.EventSubscriber;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Keeps track of pending contract negotiations and transfer processes, and completes the associated futures as soon as
+ * the state machine emits the corresponding event. Futures that do not complete within the configured timeout are
+ * failed, so no caller ever waits indefinitely and no thread is blocked while waiting.
+ */
+public class ProcessCompletionRegistry implements EventSubscriber {
+
+    private final Map<String, CompletableFuture<ContractAgreement>> negotiations = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<DataAddress>> transfers = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    public ProcessCompletionRegistry(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns a future that completes with the contract agreement once the negotiation is FINALIZED.
+     *
+     * @param contractNegotiationId the ID of the contract negotiation
+     * @return a future that completes with the agreement, or fails if the negotiation is terminated or times out
+     */
+    public CompletableFuture<ContractAgreement> awaitNegotiation(String contractNegotiationId) {
+        return register(negotiations, contractNegotiationId, "contract negotiation");
+    }
+
+    /**
+     * Returns a future that completes with the EDR once the transfer process is STARTED.
+     *
+     * @param transferProcessId the ID of the transfer process
+     * @return a future that completes with the EDR, or fails if the transfer process is terminated or times out
+     */
+    public CompletableFuture<DataAddress> awaitTransfer(String transferProcessId) {
+        return register(transfers, transferProcessId, "transfer process");
+    }
+
+    public void completeNegotiation(String contractNegotiationId, ContractAgreement agreement) {
+        ofNullable(negotiations.get(contractNegotiationId)).ifPresent(f -> f.complete(agreement));
+    }
+
+    public void failNegotiation(String contractNegotiationId, String reason) {
+        ofNullable(negotiations.get(contractNegotiationId)).ifPresent(f -> f.completeExceptionally(new EdcException(reason)));
+    }
+
+    public void completeTransfer(String transferProcessId, DataAddress edr) {
+        ofNullable(transfers.get(transferProcessId)).ifPresent(f -> f.complete(edr));
+    }
+
+    public void failTransfer(String transferProcessId, String reason) {
+        ofNullable(transfers.get(transferProcessId)).ifPresent(f -> f.completeExceptionally(new EdcException(reason)));
+    }
+
+    @Override
+    public <E extends Event> void on(EventEnvelope<E> event) {
+        var payload = event.getPayload();
+        if (payload instanceof ContractNegotiationFinalized finalized) {
+            completeNegotiation(finalized.getContractNegotiationId(), finalized.getContractAgreement());
+        } else if (payload instanceof ContractNegotiationTerminated terminated) {
+            failNegotiation(terminated.getContractNegotiationId(), "Contract negotiation terminated");
+        } else if (payload instanceof TransferProcessStarted started) {
+            if (started.getDataAddress() != null) {
+                completeTransfer(started.getTransferProcessId(), started.getDataAddress());
+            } else {
+                failTransfer(started.getTransferProcessId(), "Transfer process started without an EDR");
+            }
+        } else if (payload instanceof TransferProcessTerminated terminated) {
+            failTransfer(terminated.getTransferProcessId(), "Transfer process terminated: %s".formatted(ofNullable(terminated.getReason()).orElse("provider terminated")));
+        }
+    }
+
+    private <T> CompletableFuture<T> register(Map<String, CompletableFuture<T>> pending, String id, String description) {
+        var future = pending.computeIfAbsent(id, k -> new CompletableFuture<>());
+        CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> future.completeExceptionally(new EdcException("Timed out after %s waiting for %s %s".formatted(timeout, description, id))));
+        future.whenComplete((result, throwable) -> pending.remove(id, future));
+        return future;
+    }
+}
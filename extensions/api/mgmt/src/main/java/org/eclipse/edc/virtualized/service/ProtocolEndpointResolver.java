@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.service;
+
+import org.eclipse.edc.iam.did.spi.resolution.DidResolverRegistry;
+import org.eclipse.edc.spi.result.Result;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves the {@code ProtocolEndpoint} service address of a DID and caches it for a limited time. The cache is
+ * bounded and evicts the least recently used entries first. Concurrent lookups of the same DID that miss the cache
+ * share a single resolution. Failed resolutions are not cached.
+ */
+public class ProtocolEndpointResolver {
+    private static final String PROTOCOL_ENDPOINT = "ProtocolEndpoint";
+
+    private final DidResolverRegistry didResolverRegistry;
+    private final TtlCache<String, String> cache;
+    private final Map<String, CompletableFuture<Result<String>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public ProtocolEndpointResolver(DidResolverRegistry didResolverRegistry, Duration ttl, int maxSize, Clock clock) {
+        this.didResolverRegistry = didResolverRegistry;
+        this.cache = new TtlCache<>(ttl, maxSize, clock);
+    }
+
+    /**
+     * Resolves the protocol endpoint address of the given DID, either from the cache or from the DID document.
+     *
+     * @param did the DID of the counter-party
+     * @return the address of the {@code ProtocolEndpoint} service, or a failure if the DID could not be resolved or has no such service
+     */
+    public Result<String> resolve(String did) {
+        var cached = cache.get(did);
+        if (cached != null) {
+            return Result.success(cached);
+        }
+
+        var future = new CompletableFuture<Result<String>>();
+        var pending = inFlight.putIfAbsent(did, future);
+        if (pending != null) {
+            coalesced.increment();
+            return pending.join();
+        }
+
+        try {
+            var result = resolveFromDocument(did);
+            if (result.succeeded()) {
+                cache.put(did, result.getContent());
+            }
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(did, future);
+        }
+    }
+
+    /**
+     * Returns the current cache statistics.
+     */
+    public Stats stats() {
+        return new Stats(cache.hits(), cache.misses(), coalesced.sum(), cache.size());
+    }
+
+    private Result<String> resolveFromDocument(String did) {
+        var document = didResolverRegistry.resolve(did);
+        if (document.failed()) {
+            return Result.failure("Could not resolve DID '%s': %s".formatted(did, document.getFailureDetail()));
+        }
+
+        return document.getContent().getService().stream()
+                .filter(s -> PROTOCOL_ENDPOINT.equals(s.getType()))
+                .findFirst()
+                .map(s -> Result.success(s.getServiceEndpoint()))
+                .orElseGet(() -> Result.failure("No ProtocolEndpoint service found in DID Document for '%s'".formatted(did)));
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @param hits      number of lookups served from the cache
+     * @param misses    number of lookups not served from the cache
+     * @param coalesced number of cache misses that waited for a resolution already in progress
+     * @param size      current number of cached addresses
+     */
+    public record Stats(long hits, long misses, long coalesced, int size) {
+    }
+}
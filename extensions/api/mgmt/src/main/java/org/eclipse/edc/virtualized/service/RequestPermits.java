@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.service;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * A limited number of permits, handed out without blocking: a task that finds no permit is queued and started by the
+ * release that frees one, so waiting requests do not occupy threads.
+ */
+final class RequestPermits {
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private int available;
+
+    RequestPermits(int permits) {
+        this.available = permits;
+    }
+
+    /**
+     * Runs the task once a permit is available, either right away on the calling thread or later on the thread that
+     * releases a permit. The task owns the permit and must eventually {@link #release()} it, so it should only hand
+     * the work off to an executor.
+     */
+    void acquire(Runnable task) {
+        synchronized (this) {
+            if (available == 0) {
+                waiting.add(task);
+                return;
+            }
+            available--;
+        }
+        task.run();
+    }
+
+    /**
+     * Passes the permit on to the next waiting task, or returns it if no task is waiting.
+     */
+    void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                available++;
+                return;
+            }
+        }
+        next.run();
+    }
+
+    /**
+     * Returns the number of tasks waiting for a permit.
+     */
+    synchronized int waiting() {
+        return waiting.size();
+    }
+
+    /**
+     * Returns the number of permits currently available.
+     */
+    synchronized int available() {
+        return available;
+    }
+}
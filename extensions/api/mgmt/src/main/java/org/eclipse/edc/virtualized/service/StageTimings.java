@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.service;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long the individual steps of data requests take, e.g. the contract negotiation, the transfer process
+ * start and the download.
+ */
+public class StageTimings {
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Monitor monitor;
+
+    public StageTimings(Monitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * Records a single execution of a step.
+     *
+     * @param stage     the name of the step
+     * @param nanos     the duration in nanoseconds
+     * @param succeeded whether the step succeeded
+     */
+    public void record(String stage, long nanos, boolean succeeded) {
+        timers.computeIfAbsent(stage, k -> new Timer()).record(nanos, succeeded);
+        monitor.debug(() -> "Data request stage '%s' %s after %d ms".formatted(stage, succeeded ? "completed" : "failed", TimeUnit.NANOSECONDS.toMillis(nanos)));
+    }
+
+    /**
+     * Returns the statistics of every step recorded so far, by step name.
+     */
+    public Map<String, Stats> stats() {
+        var stats = new TreeMap<String, Stats>();
+        timers.forEach((stage, timer) -> stats.put(stage, timer.stats()));
+        return stats;
+    }
+
+    /**
+     * Timing statistics of a step.
+     *
+     * @param count       number of executions
+     * @param failed      number of failed executions
+     * @param totalMillis total duration of all executions
+     * @param maxMillis   longest duration of a single execution
+     */
+    public record Stats(long count, long failed, long totalMillis, long maxMillis) {
+    }
+
+    private static class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long nanos, boolean succeeded) {
+            count.increment();
+            if (!succeeded) {
+                failed.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        Stats stats() {
+            return new Stats(count.sum(), failed.sum(), TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()), TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+        }
+    }
+}
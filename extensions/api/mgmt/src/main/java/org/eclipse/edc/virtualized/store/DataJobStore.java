@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.virtualized.store;
+
+import org.eclipse.edc.virtualized.model.DataJob;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Store for asynchronous data jobs and their results.
+ */
+public interface DataJobStore {
+
+    /**
+     * Stores a new job.
+     *
+     * @param job the job
+     */
+    void create(DataJob job);
+
+    /**
+     * Overwrites the state of an existing job.
+     *
+     * @param job the job
+     */
+    void update(DataJob job);
+
+    /**
+     * Overwrites the state of an existing job, but only if it is still in the phase of {@code expected} and its last
+     * heartbeat is older than the given time. Used to make sure that only one runtime picks up an unfinished job, and
+     * never one that is still being worked on.
+     *
+     * @param expected        the job as it was read
+     * @param updated         the new state of the job
+     * @param heartbeatBefore time in epoch millis
+     * @return true if the job was claimed
+     */
+    boolean claim(DataJob expected, DataJob updated, long heartbeatBefore);
+
+    /**
+     * Records that the job is still being worked on. Updates of the job count as a heartbeat as well.
+     *
+     * @param id  the job ID
+     * @param now time in epoch millis
+     */
+    void heartbeat(String id, long now);
+
+    /**
+     * Marks a job as done and stores its result.
+     *
+     * @param job    the job in phase DONE
+     * @param result the downloaded data
+     */
+    void complete(DataJob job, byte[] result);
+
+    /**
+     * Retrieves a job by its ID.
+     *
+     * @param id the job ID
+     * @return the job, or null if not found
+     */
+    @Nullable
+    DataJob findById(String id);
+
+    /**
+     * Retrieves the jobs that are not in a final phase and have had no heartbeat since the given time.
+     *
+     * @param heartbeatBefore time in epoch millis
+     * @return the unfinished jobs
+     */
+    List<DataJob> findUnfinished(long heartbeatBefore);
+
+    /**
+     * Retrieves the result of a job.
+     *
+     * @param id the job ID
+     * @return the downloaded data, or null if the job does not exist or is not done
+     */
+    byte[] getResult(String id);
+}
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.store.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.sql.QueryExecutor;
+import org.eclipse.edc.sql.store.AbstractSqlStore;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.model.DataJob;
+import org.eclipse.edc.virtualized.store.DataJobStore;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+public class SqlDataJobStore extends AbstractSqlStore implements DataJobStore {
+    private static final String COLUMNS = "id, participant_context_id, provider_id, policy_id, policy_type, phase, error, content_type, created_at, updated_at";
+
+    public SqlDataJobStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext, ObjectMapper objectMapper, QueryExecutor queryExecutor) {
+        super(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor);
+    }
+
+    @Override
+    public void create(DataJob job) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var stmt = "INSERT INTO edc_data_jobs (" + COLUMNS + ", heartbeat_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                queryExecutor.execute(connection, stmt, job.id(), job.participantContextId(), job.providerId(), job.policyId(), job.policyType(),
+                        job.phase().name(), job.error(), job.contentType(), job.createdAt(), job.updatedAt(), job.updatedAt());
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public void update(DataJob job) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var stmt = "UPDATE edc_data_jobs SET phase = ?, error = ?, content_type = ?, updated_at = ?, heartbeat_at = ? WHERE id = ?";
+                queryExecutor.execute(connection, stmt, job.phase().name(), job.error(), job.contentType(), job.updatedAt(), job.updatedAt(), job.id());
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public boolean claim(DataJob expected, DataJob updated, long heartbeatBefore) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var stmt = "UPDATE edc_data_jobs SET phase = ?, error = ?, content_type = ?, updated_at = ?, heartbeat_at = ? WHERE id = ? AND phase = ? AND heartbeat_at < ?";
+                var rows = queryExecutor.execute(connection, stmt, updated.phase().name(), updated.error(), updated.contentType(), updated.updatedAt(), updated.updatedAt(),
+                        updated.id(), expected.phase().name(), heartbeatBefore);
+                return rows == 1;
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public void heartbeat(String id, long now) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var stmt = "UPDATE edc_data_jobs SET heartbeat_at = ? WHERE id = ? AND phase NOT IN (?, ?)";
+                queryExecutor.execute(connection, stmt, now, id, DataJob.Phase.DONE.name(), DataJob.Phase.FAILED.name());
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public void complete(DataJob job, byte[] result) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var stmt = "UPDATE edc_data_jobs SET phase = ?, error = ?, content_type = ?, updated_at = ?, heartbeat_at = ?, result = ? WHERE id = ?";
+                queryExecutor.execute(connection, stmt, job.phase().name(), job.error(), job.contentType(), job.updatedAt(), job.updatedAt(), result, job.id());
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public DataJob findById(String id) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var stmt = "SELECT " + COLUMNS + " FROM edc_data_jobs WHERE id = ?";
+                return queryExecutor.query(connection, true, this::mapJob, stmt, id)
+                        .findFirst()
+                        .orElse(null);
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public List<DataJob> findUnfinished(long heartbeatBefore) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var stmt = "SELECT " + COLUMNS + " FROM edc_data_jobs WHERE phase NOT IN (?, ?) AND heartbeat_at < ?";
+                return queryExecutor.query(connection, true, this::mapJob, stmt, DataJob.Phase.DONE.name(), DataJob.Phase.FAILED.name(), heartbeatBefore).toList();
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public byte[] getResult(String id) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var stmt = "SELECT result FROM edc_data_jobs WHERE id = ? AND phase = ?";
+                return queryExecutor.query(connection, true, rs -> rs.getBytes("result"), stmt, id, DataJob.Phase.DONE.name())
+                        .findFirst()
+                        .orElse(null);
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    private DataJob mapJob(ResultSet resultSet) throws SQLException {
+        return new DataJob(
+                resultSet.getString("id"),
+                resultSet.getString("participant_context_id"),
+                resultSet.getString("provider_id"),
+                resultSet.getString("policy_id"),
+                resultSet.getString("policy_type"),
+                DataJob.Phase.valueOf(resultSet.getString("phase")),
+                resultSet.getString("error"),
+                resultSet.getString("content_type"),
+                resultSet.getLong("created_at"),
+                resultSet.getLong("updated_at"));
+    }
+}
@@ -0,0 +1,34 @@
+--
+--  Copyright (c) 2026 Metaform Systems, Inc.
+--
+--  This program and the accompanying materials are made available under the
+--  terms of the Apache License, Version 2.0 which is available at
+--  https://www.apache.org/licenses/LICENSE-2.0
+--
+--  SPDX-License-Identifier: Apache-2.0
+--
+--  Contributors:
+--       Metaform Systems, Inc. - initial API and implementation
+--
+
+-- THIS SCHEMA HAS BEEN WRITTEN AND TESTED ONLY FOR POSTGRES
+
+-- table: edc_data_jobs
+CREATE TABLE IF NOT EXISTS edc_data_jobs
+(
+    id                     VARCHAR PRIMARY KEY,
+    participant_context_id VARCHAR NOT NULL,
+    provider_id            VARCHAR NOT NULL,
+    policy_id              VARCHAR NOT NULL,
+    policy_type            VARCHAR,
+    phase                  VARCHAR NOT NULL,
+    error                  TEXT,
+    content_type           VARCHAR,
+    created_at             BIGINT  NOT NULL,
+    updated_at             BIGINT  NOT NULL,
+    heartbeat_at           BIGINT  NOT NULL,
+    result                 BYTEA
+);
+
+-- heartbeat_at is advanced periodically by the runtime working on the job, a job whose heartbeat stopped is resumed
+CREATE INDEX IF NOT EXISTS edc_data_jobs_phase_idx ON edc_data_jobs (phase, heartbeat_at);
@@ -24,17 +24,26 @@ import org.eclipse.edc.runtime.metamodel.annotation.Extension;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
 import org.eclipse.edc.runtime.metamodel.annotation.Setting;
 import org.eclipse.edc.runtime.metamodel.annotation.Settings;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
 import org.eclipse.edc.spi.system.Hostname;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
 import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.activity.BufferedActivityWriter;
 import org.eclipse.edc.virtualized.dataplane.cert.api.CertExchangePublicController;
 import org.eclipse.edc.virtualized.dataplane.cert.api.CertInternalExchangeController;
+import org.eclipse.edc.virtualized.dataplane.cert.archive.CertArchiveService;
+import org.eclipse.edc.virtualized.dataplane.cert.feed.ChangeFeed;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertActivityStore;
 import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
 import org.eclipse.edc.web.spi.WebService;
 import org.eclipse.edc.web.spi.configuration.PortMapping;
 import org.eclipse.edc.web.spi.configuration.PortMappingRegistry;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.eclipse.edc.virtualized.dataplane.cert.CertExchangeExtension.NAME;
 
 @Extension(NAME)
@@ -43,6 +52,14 @@ public class CertExchangeExtension implements ServiceExtension {
     public static final String API_CONTEXT = "certs";
     private static final int DEFAULT_CERTS_PORT = 8186;
     private static final String DEFAULT_CERTS_PATH = "/api/data";
+    private static final int DEFAULT_ACTIVITY_BUFFER = 10_000;
+    private static final int DEFAULT_ACTIVITY_BATCH = 500;
+    private static final long DEFAULT_ACTIVITY_FLUSH_INTERVAL = 1000;
+    private static final int DEFAULT_BULK_BATCH = 50;
+    private static final long DEFAULT_CHANGES_POLL_INTERVAL = 1000;
+    private static final long DEFAULT_CHANGES_STREAM_DURATION = 300;
+    private static final int DEFAULT_CHANGES_READER_THREADS = 4;
+    private static final long DEFAULT_CHANGES_RETENTION = 30;
 
 
     @Setting(description = "Base url of the public public API endpoint without the trailing slash. This should point to the public certs endpoint configured.",
@@ -52,6 +69,28 @@ public class CertExchangeExtension implements ServiceExtension {
 
     @Configuration
     private CertApiConfiguration apiConfiguration;
+    @Setting(description = "Number of certificate activity entries buffered before they are written. When the buffer is full, entries are written synchronously",
+            defaultValue = DEFAULT_ACTIVITY_BUFFER + "", key = "edc.dataplane.api.certs.activity.buffer")
+    private int activityBuffer;
+    @Setting(description = "Maximum number of certificate activity entries written in one batch", defaultValue = DEFAULT_ACTIVITY_BATCH + "", key = "edc.dataplane.api.certs.activity.batch")
+    private int activityBatch;
+    @Setting(description = "Interval in milliseconds in which buffered certificate activity entries are written",
+            defaultValue = DEFAULT_ACTIVITY_FLUSH_INTERVAL + "", key = "edc.dataplane.api.certs.activity.flush.interval")
+    private long activityFlushInterval;
+    @Setting(description = "Number of certificates of a bulk upload that are stored in one transaction", defaultValue = DEFAULT_BULK_BATCH + "", key = "edc.dataplane.api.certs.bulk.batch")
+    private int bulkBatch;
+    @Setting(description = "Interval in milliseconds in which the certificate change feed is checked for changes while readers are waiting",
+            defaultValue = DEFAULT_CHANGES_POLL_INTERVAL + "", key = "edc.dataplane.api.certs.changes.poll.interval")
+    private long changesPollInterval;
+    @Setting(description = "Time in seconds after which a stream of certificate changes is closed, readers reconnect with the id of the last event",
+            defaultValue = DEFAULT_CHANGES_STREAM_DURATION + "", key = "edc.dataplane.api.certs.changes.stream.duration")
+    private long changesStreamDuration;
+    @Setting(description = "Number of threads that read the certificate changes for long-polling readers once the feed advanced or their wait is over",
+            defaultValue = DEFAULT_CHANGES_READER_THREADS + "", key = "edc.dataplane.api.certs.changes.reader.threads")
+    private int changesReaderThreads;
+    @Setting(description = "Time in days certificate changes are kept in the change feed, 0 keeps them forever. Readers whose cursor is older are answered with 410 and have to resync",
+            defaultValue = DEFAULT_CHANGES_RETENTION + "", key = "edc.dataplane.api.certs.changes.retention")
+    private long changesRetention;
 
     @Inject
     private Hostname hostname;
@@ -75,6 +114,14 @@ public class CertExchangeExtension implements ServiceExtension {
 
     @Inject
     private TransactionContext transactionContext;
+    @Inject
+    private CertActivityStore activityStore;
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+
+    private BufferedActivityWriter activityWriter;
+    private ChangeFeed changeFeed;
+    private ExecutorService changeReaders;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
@@ -87,14 +134,37 @@ public class CertExchangeExtension implements ServiceExtension {
         }
         var endpoint = Endpoint.url(publicBaseUrl);
         generatorService.addGeneratorFunction("HttpCertData", dataAddress -> endpoint);
-        webService.registerResource(API_CONTEXT, new CertExchangePublicController(authorizationService, certStore, transactionContext));
-        webService.registerResource("control", new CertInternalExchangeController(certStore, transactionContext));
+
+        var activityExecutor = executorInstrumentation.instrument(Executors.newSingleThreadScheduledExecutor(), "Cert activity writer");
+        activityWriter = new BufferedActivityWriter(activityStore, activityExecutor, context.getMonitor(), activityBuffer, activityBatch, activityFlushInterval);
+
+        var changeExecutor = executorInstrumentation.instrument(Executors.newSingleThreadScheduledExecutor(), "Cert change feed");
+        changeFeed = new ChangeFeed(certStore, changeExecutor, context.getMonitor(), changesPollInterval, Duration.ofDays(changesRetention));
+        changeReaders = executorInstrumentation.instrument(Executors.newFixedThreadPool(changesReaderThreads), "Cert change readers");
+
+        var archiveService = new CertArchiveService(certStore, transactionContext, bulkBatch);
+        webService.registerResource(API_CONTEXT, new CertExchangePublicController(authorizationService, certStore, transactionContext, activityWriter, archiveService,
+                changeFeed, Duration.ofSeconds(changesStreamDuration), changeReaders));
+        webService.registerResource("control", new CertInternalExchangeController(certStore, activityStore, transactionContext, archiveService, changeFeed, changeReaders));
 
         if (authorizationService instanceof DataPlaneAuthorizationServiceImpl dpAuthService) {
             endpointDataReferenceServiceRegistry.register("HttpCertData", dpAuthService);
         }
     }
 
+    @Override
+    public void start() {
+        activityWriter.start();
+        changeFeed.start();
+    }
+
+    @Override
+    public void shutdown() {
+        changeFeed.stop();
+        changeReaders.shutdown();
+        activityWriter.stop();
+    }
+
     @Settings
     record CertApiConfiguration(
             @Setting(key = "web.http." + API_CONTEXT + ".port", description = "Port for " + API_CONTEXT + " api context", defaultValue = DEFAULT_CERTS_PORT + "")
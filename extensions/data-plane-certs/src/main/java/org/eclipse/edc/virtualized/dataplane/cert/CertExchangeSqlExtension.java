@@ -18,6 +18,10 @@ import org.eclipse.edc.runtime.metamodel.annotation.Extension;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
 import org.eclipse.edc.runtime.metamodel.annotation.Provider;
 import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.security.Vault;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
 import org.eclipse.edc.spi.types.TypeManager;
@@ -25,18 +29,95 @@ import org.eclipse.edc.sql.QueryExecutor;
 import org.eclipse.edc.sql.bootstrapper.SqlSchemaBootstrapper;
 import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
 import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CachingCertStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertActivityStore;
 import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.blob.BlobStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.blob.FileSystemBlobStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.blob.S3BlobStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.sql.BlobCertStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.sql.ContentCompression;
+import org.eclipse.edc.virtualized.dataplane.cert.store.sql.ReplicaRouting;
+import org.eclipse.edc.virtualized.dataplane.cert.store.sql.SqlCertActivityStore;
 import org.eclipse.edc.virtualized.dataplane.cert.store.sql.SqlCertStore;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 import static org.eclipse.edc.virtualized.dataplane.cert.CertExchangeSqlExtension.NAME;
 
 
 @Extension(NAME)
 public class CertExchangeSqlExtension implements ServiceExtension {
     public static final String NAME = "Cert Exchange Sql Store Extension";
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+    private static final long DEFAULT_CACHE_TTL_SECONDS = 60;
+    private static final long DEFAULT_READ_MAX_LAG_MILLIS = 10_000;
+    private static final long DEFAULT_READ_YOUR_WRITES_MILLIS = 5_000;
+    private static final long DEFAULT_READ_LAG_CHECK_INTERVAL_MILLIS = 1_000;
+    private static final long DEFAULT_BLOB_SWEEP_INTERVAL_SECONDS = 60;
+    private static final String DEFAULT_COMPRESSION_TYPES = "text/*,application/json,application/xml,application/x-pem-file,application/pem-certificate-chain";
 
     @Setting(description = "The datasource to be used", defaultValue = DataSourceRegistry.DEFAULT_DATASOURCE, key = "edc.sql.store.certs.datasource")
     private String dataSourceName;
+    @Setting(description = "The datasource of a read replica. If set, certificate queries and downloads are sent to it, while writes stay on the primary datasource",
+            required = false, key = "edc.sql.store.certs.read.datasource")
+    private String readDataSourceName;
+    @Setting(description = "Replication lag in milliseconds above which reads are sent to the primary datasource instead of the read replica",
+            defaultValue = DEFAULT_READ_MAX_LAG_MILLIS + "", key = "edc.sql.store.certs.read.maxlag")
+    private long readMaxLagMillis;
+    @Setting(description = "Minimum time in milliseconds during which reads are sent to the primary datasource after a write, so that writes are read back. " +
+            "The window is extended to the current replication lag", defaultValue = DEFAULT_READ_YOUR_WRITES_MILLIS + "", key = "edc.sql.store.certs.read.window")
+    private long readYourWritesMillis;
+    @Setting(description = "Interval in milliseconds at which the replication lag of the read replica is probed",
+            defaultValue = DEFAULT_READ_LAG_CHECK_INTERVAL_MILLIS + "", key = "edc.sql.store.certs.read.lagcheck.interval")
+    private long readLagCheckIntervalMillis;
+
+    @Setting(description = "Size in bytes of the chunks in which certificate content is stored and streamed", defaultValue = SqlCertStore.DEFAULT_CHUNK_SIZE + "", key = "edc.sql.store.certs.chunksize")
+    private int chunkSize;
+
+    @Setting(description = "Whether certificate content stored in the database is gzip compressed if its content type is compressible",
+            defaultValue = "true", key = "edc.sql.store.certs.compression.enabled")
+    private boolean compressionEnabled;
+    @Setting(description = "Comma-separated content types of certificate content that is compressed, type/* matches all subtypes",
+            defaultValue = DEFAULT_COMPRESSION_TYPES, key = "edc.sql.store.certs.compression.types")
+    private String compressionTypes;
+
+    @Setting(description = "Maximum number of certificate metadata entries cached in memory. 0 disables the cache", defaultValue = DEFAULT_CACHE_SIZE + "", key = "edc.sql.store.certs.cache.size")
+    private int cacheSize;
+    @Setting(description = "Time in seconds after which cached certificate metadata is re-read, which bounds how long changes made by other instances remain unseen",
+            defaultValue = DEFAULT_CACHE_TTL_SECONDS + "", key = "edc.sql.store.certs.cache.ttl")
+    private long cacheTtlSeconds;
+
+    @Setting(description = "Where certificate content is stored: 'sql' (in the database), 'filesystem' or 's3'. Metadata is always stored in the database",
+            defaultValue = "sql", key = "edc.sql.store.certs.content")
+    private String contentBackend;
+    @Setting(description = "Interval in seconds at which content of deleted certificates is removed from the 'filesystem' or 's3' content backend",
+            defaultValue = DEFAULT_BLOB_SWEEP_INTERVAL_SECONDS + "", key = "edc.sql.store.certs.content.sweep.interval")
+    private long blobSweepIntervalSeconds;
+    @Setting(description = "Root directory of the 'filesystem' content backend", required = false, key = "edc.certs.content.fs.root")
+    private String fileSystemRoot;
+    @Setting(description = "Whether the 'filesystem' content backend serves content from memory-mapped files instead of channel transfers",
+            defaultValue = "false", key = "edc.certs.content.fs.mmap")
+    private boolean fileSystemMemoryMapped;
+    @Setting(description = "Endpoint of the 's3' content backend, e.g. http://localhost:9000 for a local MinIO", required = false, key = "edc.certs.content.s3.endpoint")
+    private String s3Endpoint;
+    @Setting(description = "Bucket of the 's3' content backend", required = false, key = "edc.certs.content.s3.bucket")
+    private String s3Bucket;
+    @Setting(description = "Region of the 's3' content backend", defaultValue = "us-east-1", key = "edc.certs.content.s3.region")
+    private String s3Region;
+    @Setting(description = "Access key id of the 's3' content backend", required = false, key = "edc.certs.content.s3.accesskey")
+    private String s3AccessKey;
+    @Setting(description = "Vault alias of the secret access key of the 's3' content backend", required = false, key = "edc.certs.content.s3.secretkey.alias")
+    private String s3SecretKeyAlias;
 
     @Inject
     private DataSourceRegistry dataSourceRegistry;
@@ -49,14 +130,101 @@ public class CertExchangeSqlExtension implements ServiceExtension {
 
     @Inject
     private SqlSchemaBootstrapper sqlSchemaBootstrapper;
+    @Inject
+    private Vault vault;
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+
+    private Monitor monitor;
+    private BlobCertStore blobCertStore;
+    private ScheduledExecutorService blobSweeper;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
+        monitor = context.getMonitor();
         sqlSchemaBootstrapper.addStatementFromResource(dataSourceName, "certs-schema.sql");
     }
 
+    @Override
+    public void start() {
+        if (blobCertStore != null) {
+            blobSweeper = executorInstrumentation.instrument(Executors.newSingleThreadScheduledExecutor(), "Cert content sweeper");
+            blobSweeper.scheduleWithFixedDelay(this::deleteReleasedBlobs, blobSweepIntervalSeconds, blobSweepIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (blobSweeper != null) {
+            blobSweeper.shutdownNow();
+        }
+    }
+
     @Provider
-    public CertStore certStore() {
-        return new SqlCertStore(dataSourceRegistry, dataSourceName, transactionContext, typeManager.getMapper(), queryExecutor);
+    public CertStore certStore(ServiceExtensionContext context) {
+        var store = sqlCertStore(context);
+        if (cacheSize <= 0) {
+            return store;
+        }
+        return new CachingCertStore(store, cacheSize, Duration.ofSeconds(cacheTtlSeconds), context.getClock());
+    }
+
+    private CertStore sqlCertStore(ServiceExtensionContext context) {
+        var replica = replicaRouting(context);
+        return switch (contentBackend.toLowerCase(Locale.ROOT)) {
+            case "sql" -> new SqlCertStore(dataSourceRegistry, dataSourceName, transactionContext, typeManager.getMapper(), queryExecutor, chunkSize, replica, contentCompression());
+            case "filesystem", "s3" -> {
+                // released blobs are deleted by the sweeper, after the deletions releasing them have committed
+                blobCertStore = new BlobCertStore(dataSourceRegistry, dataSourceName, transactionContext, typeManager.getMapper(), queryExecutor, blobStore(context), replica);
+                yield blobCertStore;
+            }
+            default -> throw new EdcException("Unknown certificate content backend: " + contentBackend);
+        };
+    }
+
+    private void deleteReleasedBlobs() {
+        try {
+            var deleted = blobCertStore.deleteReleasedBlobs();
+            if (deleted > 0) {
+                monitor.debug("Deleted the content of %d released certificates".formatted(deleted));
+            }
+        } catch (Exception e) {
+            monitor.warning("Failed to delete released certificate content", e);
+        }
+    }
+
+    private ContentCompression contentCompression() {
+        var mediaTypes = Arrays.stream(compressionTypes.split(","))
+                .map(type -> type.trim().toLowerCase(Locale.ROOT))
+                .filter(type -> !type.isEmpty())
+                .collect(Collectors.toSet());
+        return new ContentCompression(compressionEnabled, mediaTypes);
+    }
+
+    private ReplicaRouting replicaRouting(ServiceExtensionContext context) {
+        if (readDataSourceName == null || readDataSourceName.isBlank() || readDataSourceName.equals(dataSourceName)) {
+            return null;
+        }
+        return new ReplicaRouting(readDataSourceName, Duration.ofMillis(readMaxLagMillis), Duration.ofMillis(readYourWritesMillis),
+                Duration.ofMillis(readLagCheckIntervalMillis), context.getClock());
+    }
+
+    @Provider
+    public CertActivityStore certActivityStore() {
+        return new SqlCertActivityStore(dataSourceRegistry, dataSourceName, transactionContext, typeManager.getMapper(), queryExecutor);
+    }
+
+    private BlobStore blobStore(ServiceExtensionContext context) {
+        if ("s3".equalsIgnoreCase(contentBackend)) {
+            var secretKey = s3SecretKeyAlias != null ? vault.resolveSecret(s3SecretKeyAlias) : null;
+            if (s3Endpoint == null || s3Bucket == null || s3AccessKey == null || secretKey == null) {
+                throw new EdcException("The 's3' certificate content backend requires an endpoint, a bucket, an access key and a secret key in the vault");
+            }
+            return new S3BlobStore(HttpClient.newHttpClient(), URI.create(s3Endpoint), s3Bucket, s3Region, s3AccessKey, secretKey, context.getClock());
+        }
+        if (fileSystemRoot == null) {
+            throw new EdcException("The 'filesystem' certificate content backend requires edc.certs.content.fs.root");
+        }
+        return new FileSystemBlobStore(Path.of(fileSystemRoot), fileSystemMemoryMapped);
     }
 }
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.activity;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ActivityItem;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertActivityStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records certificate activity without blocking the request that caused it. Entries are buffered and written to the
+ * {@link CertActivityStore} in batches, either periodically or as soon as a full batch is buffered. When the buffer is
+ * full, the entry is written synchronously, so activity is slowed down rather than lost.
+ * <p>
+ * A batch that cannot be written is kept and retried first by the following flushes. After {@value #MAX_ATTEMPTS}
+ * failed attempts it is dropped and reported, so that a batch the store keeps rejecting does not block all activity.
+ */
+public class BufferedActivityWriter {
+    static final int MAX_ATTEMPTS = 3;
+
+    private final CertActivityStore activityStore;
+    private final ScheduledExecutorService executor;
+    private final Monitor monitor;
+    private final BlockingQueue<CertActivityStore.Entry> buffer;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private List<CertActivityStore.Entry> failedBatch = List.of();
+    private int failedAttempts;
+
+    public BufferedActivityWriter(CertActivityStore activityStore, ScheduledExecutorService executor, Monitor monitor, int capacity, int batchSize, long flushIntervalMillis) {
+        this.activityStore = activityStore;
+        this.executor = executor;
+        this.monitor = monitor;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and writes all buffered entries.
+     */
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(flushIntervalMillis * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        var unwritten = unwritten();
+        if (unwritten > 0) {
+            monitor.severe("%d certificate activity entries could not be written before shutdown".formatted(unwritten));
+        }
+    }
+
+    /**
+     * Records an activity on a certificate.
+     *
+     * @param certId the unique identifier of the certificate
+     * @param item   the activity
+     */
+    public void record(String certId, ActivityItem item) {
+        var entry = new CertActivityStore.Entry(certId, item);
+        if (!buffer.offer(entry)) {
+            activityStore.append(List.of(entry));
+            return;
+        }
+        // at most one flush is queued, it drains everything buffered when it runs
+        if (buffer.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::scheduledFlush);
+            } catch (RejectedExecutionException e) {
+                // the writer is stopped, nothing flushes periodically anymore
+                scheduledFlush();
+            }
+        }
+    }
+
+    private void scheduledFlush() {
+        // cleared before draining, so that entries recorded meanwhile can schedule the next flush
+        flushScheduled.set(false);
+        flushSafely();
+    }
+
+    private synchronized void flushSafely() {
+        if (!failedBatch.isEmpty() && !write(failedBatch)) {
+            return;
+        }
+        var batch = new ArrayList<CertActivityStore.Entry>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                return;
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private synchronized int unwritten() {
+        return failedBatch.size() + buffer.size();
+    }
+
+    /**
+     * Writes a batch, or keeps it for the next flush if it fails.
+     *
+     * @return true if the flush can continue with the next batch
+     */
+    private boolean write(List<CertActivityStore.Entry> batch) {
+        try {
+            activityStore.append(batch);
+            failedBatch = List.of();
+            failedAttempts = 0;
+            return true;
+        } catch (Exception e) {
+            if (batch != failedBatch) {
+                failedBatch = batch;
+                failedAttempts = 0;
+            }
+            if (++failedAttempts < MAX_ATTEMPTS) {
+                monitor.warning("Failed to write %d certificate activity entries, retrying with the next flush".formatted(batch.size()), e);
+                return false;
+            }
+            monitor.severe("Dropping %d certificate activity entries after %d failed attempts".formatted(batch.size(), failedAttempts), e);
+            failedBatch = List.of();
+            failedAttempts = 0;
+            return true;
+        }
+    }
+}
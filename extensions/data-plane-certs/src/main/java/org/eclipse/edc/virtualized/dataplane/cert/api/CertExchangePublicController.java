@@ -15,28 +15,41 @@
 package org.eclipse.edc.virtualized.dataplane.cert.api;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jwt.SignedJWT;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAuthorizationService;
 import org.eclipse.edc.spi.query.QuerySpec;
 import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.activity.BufferedActivityWriter;
+import org.eclipse.edc.virtualized.dataplane.cert.archive.CertArchiveService;
+import org.eclipse.edc.virtualized.dataplane.cert.feed.ChangeFeed;
 import org.eclipse.edc.virtualized.dataplane.cert.model.ActivityItem;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertChange;
 import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
 import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.InputStream;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
 import static jakarta.ws.rs.core.HttpHeaders.AUTHORIZATION;
 import static jakarta.ws.rs.core.Response.Status.FORBIDDEN;
 import static jakarta.ws.rs.core.Response.Status.UNAUTHORIZED;
@@ -47,46 +60,113 @@ public class CertExchangePublicController {
     private final DataPlaneAuthorizationService authorizationService;
     private final CertStore certStore;
     private final TransactionContext transactionContext;
-
-    public CertExchangePublicController(DataPlaneAuthorizationService authorizationService, CertStore certStore, TransactionContext transactionContext) {
+    private final BufferedActivityWriter activityWriter;
+    private final CertArchiveService archiveService;
+    private final ChangeFeed changeFeed;
+    private final Duration changeStreamDuration;
+    private final Executor changeReaders;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public CertExchangePublicController(DataPlaneAuthorizationService authorizationService, CertStore certStore, TransactionContext transactionContext,
+                                        BufferedActivityWriter activityWriter, CertArchiveService archiveService, ChangeFeed changeFeed, Duration changeStreamDuration,
+                                        Executor changeReaders) {
         this.authorizationService = authorizationService;
         this.certStore = certStore;
         this.transactionContext = transactionContext;
+        this.activityWriter = activityWriter;
+        this.archiveService = archiveService;
+        this.changeFeed = changeFeed;
+        this.changeStreamDuration = changeStreamDuration;
+        this.changeReaders = changeReaders;
     }
 
     @POST
     @Path("/request")
-    public List<CertMetadata> queryCertificates(@HeaderParam(AUTHORIZATION) String token, QuerySpec querySpec) {
+    public Response queryCertificates(@HeaderParam(AUTHORIZATION) String token, @QueryParam("cursor") String cursor, QuerySpec querySpec) {
         return transactionContext.execute(() -> {
             checkAuth(token);
-            return certStore.queryMetadata(querySpec)
+            var query = Optional.ofNullable(querySpec).orElseGet(() -> QuerySpec.Builder.newInstance().build());
+            return CertInternalExchangeController.page(certStore, query, cursor,
                     // strip out the history for public API
-                    .stream().map(ct -> new CertMetadata(ct.id(), ct.contentType(), ct.properties())).toList();
+                    CertMetadata::withoutHistory);
         });
     }
 
+    /**
+     * Returns the certificates inserted, updated or deleted after the cursor. With {@code wait}, the request is held
+     * for up to that many seconds until there is a change.
+     */
+    @GET
+    @Path("/changes")
+    public void changes(@HeaderParam(AUTHORIZATION) String token, @QueryParam("since") Long since, @QueryParam("limit") Integer limit, @QueryParam("wait") Integer waitSeconds,
+                        @Suspended AsyncResponse response) {
+        try {
+            checkAuth(token);
+            ChangeResponses.longPoll(certStore, changeFeed, changeReaders, since, limit, waitSeconds, CertChange::withoutHistory, response);
+        } catch (RuntimeException e) {
+            response.resume(e);
+        }
+    }
+
+    /**
+     * Streams the changes after the cursor, and then the changes as they happen, as server-sent events.
+     */
+    @GET
+    @Path("/changes/stream")
+    @Produces(ChangeResponses.EVENT_STREAM)
+    public Response changeStream(@HeaderParam(AUTHORIZATION) String token, @HeaderParam("Last-Event-ID") String lastEventId, @QueryParam("since") Long since) {
+        checkAuth(token);
+        var start = ChangeResponses.streamStart(lastEventId, since);
+        return Response.ok(ChangeResponses.eventStream(certStore, changeFeed, objectMapper, start, changeStreamDuration, CertChange::withoutHistory))
+                .header("Cache-Control", "no-cache")
+                .build();
+    }
+
+    /**
+     * Downloads a certificate with a single statement, which yields the metadata and then the content. The response is
+     * written while that statement is open, the access is recorded asynchronously.
+     */
     @GET
     @Path("/{id}")
-    public Response certificateDownload(@HeaderParam(AUTHORIZATION) String token, @PathParam("id") String id) {
-        return transactionContext.execute(() -> {
+    public void certificateDownload(@HeaderParam(AUTHORIZATION) String token, @HeaderParam(ACCEPT_ENCODING) String acceptEncoding, @PathParam("id") String id,
+                                    @Context Request request, @Suspended AsyncResponse response) {
+        try {
             var subject = checkAuth(token);
-            var metadata = certStore.getMetadata(id);
-            if (metadata == null) {
-                return Response.status(Response.Status.NOT_FOUND).build();
+            var cached = CertResponses.notModifiedFromCache(certStore, id, request, acceptEncoding);
+            if (cached != null) {
+                response.resume(cached);
+                return;
             }
-            metadata.history().add(new ActivityItem(subject, Instant.now().getEpochSecond(), "DOWNLOAD"));
-            certStore.updateMetadata(id, metadata);
-            StreamingOutput stream = output -> {
-                try (InputStream is = certStore.retrieve(id)) {
-                    is.transferTo(output);
+            var found = certStore.download(id, (metadata, content) -> {
+                var encoding = CertResponses.encoding(acceptEncoding, content);
+                var notModified = CertResponses.notModified(request, metadata, encoding);
+                if (notModified != null) {
+                    response.resume(notModified);
+                    return;
                 }
-            };
-
+                activityWriter.record(id, new ActivityItem(subject, Instant.now().getEpochSecond(), "DOWNLOAD"));
+                response.resume(CertResponses.content(metadata, content, encoding));
+            });
+            if (!found) {
+                response.resume(Response.status(Response.Status.NOT_FOUND).build());
+            }
+        } catch (RuntimeException e) {
+            response.resume(e);
+        }
+    }
 
-            return Response.ok(stream)
-                    .header("Content-Type", metadata.contentType())
-                    .build();
-        });
+    /**
+     * Downloads all certificates matching the query as a zip archive, each certificate is recorded as downloaded.
+     */
+    @POST
+    @Path("/bulk/download")
+    @Produces("application/zip")
+    public Response bulkDownload(@HeaderParam(AUTHORIZATION) String token, QuerySpec querySpec) {
+        var subject = checkAuth(token);
+        var query = Optional.ofNullable(querySpec).orElseGet(() -> QuerySpec.Builder.newInstance().build());
+        StreamingOutput archive = output -> archiveService.exportArchive(query, output,
+                metadata -> activityWriter.record(metadata.id(), new ActivityItem(subject, Instant.now().getEpochSecond(), "DOWNLOAD")));
+        return Response.ok(archive).build();
     }
 
     private String checkAuth(String token) {
@@ -20,15 +20,32 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.edc.spi.query.QuerySpec;
 import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.archive.ArchiveReader;
+import org.eclipse.edc.virtualized.dataplane.cert.archive.CertArchiveService;
+import org.eclipse.edc.virtualized.dataplane.cert.archive.ContentTypes;
+import org.eclipse.edc.virtualized.dataplane.cert.archive.TarArchiveReader;
+import org.eclipse.edc.virtualized.dataplane.cert.archive.ZipArchiveReader;
+import org.eclipse.edc.virtualized.dataplane.cert.feed.ChangeFeed;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ActivityPage;
 import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CachingCertStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertActivityStore;
 import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
 import org.glassfish.jersey.media.multipart.FormDataBodyPart;
 import org.glassfish.jersey.media.multipart.FormDataParam;
@@ -38,17 +55,35 @@ import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
 
 @Path("certs")
 public class CertInternalExchangeController {
 
+    static final String NEXT_CURSOR = "Next-Cursor";
+    private static final int DEFAULT_HISTORY_LIMIT = 50;
+    private static final int MAX_HISTORY_LIMIT = 1000;
+
     private final CertStore certStore;
+    private final CertActivityStore activityStore;
     private final TransactionContext transactionContext;
+    private final CertArchiveService archiveService;
+    private final ChangeFeed changeFeed;
+    private final Executor changeReaders;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public CertInternalExchangeController(CertStore certStore, TransactionContext transactionContext) {
+    public CertInternalExchangeController(CertStore certStore, CertActivityStore activityStore, TransactionContext transactionContext, CertArchiveService archiveService,
+                                          ChangeFeed changeFeed, Executor changeReaders) {
         this.certStore = certStore;
+        this.activityStore = activityStore;
         this.transactionContext = transactionContext;
+        this.archiveService = archiveService;
+        this.changeFeed = changeFeed;
+        this.changeReaders = changeReaders;
     }
 
     @POST
@@ -61,58 +96,179 @@ public class CertInternalExchangeController {
         var mediaType = bodyPart.getMediaType();
         var contentType = mediaType != null ? mediaType.toString() : "unknown";
         try {
-            Map<String, Object> certMetadataInput = objectMapper.convertValue(objectMapper.readTree(metadata), getTypeRef());
-            byte[] bytes = stream.readAllBytes();
+            var certMetadataInput = parseProperties(metadata);
             var certMetadata = new CertMetadata(
                     java.util.UUID.randomUUID().toString(),
                     contentType,
                     certMetadataInput
             );
-            transactionContext.execute(() -> certStore.store(certMetadata.id(), certMetadata, bytes));
-            return Response.ok().entity(certMetadata).build();
+            var stored = certStore.store(certMetadata.id(), certMetadata, stream);
+            return Response.ok().entity(stored).tag(new EntityTag(stored.contentHash())).build();
         } catch (Exception e) {
             throw new BadRequestException(e);
         }
 
     }
 
+    /**
+     * Uploads several certificates in one multipart request, every {@code file} part becomes a certificate. The
+     * properties of the optional {@code metadata} part are set on all of them.
+     */
+    @POST
+    @Path("/bulk")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    public List<CertMetadata> bulkUpload(@FormDataParam("metadata") String metadata, @FormDataParam("file") List<FormDataBodyPart> parts) {
+        var files = parts == null ? List.<FormDataBodyPart>of() : parts;
+        var iterator = files.iterator();
+        ArchiveReader reader = () -> {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            var part = iterator.next();
+            var fileName = part.getContentDisposition() != null && part.getContentDisposition().getFileName() != null ? part.getContentDisposition().getFileName() : part.getName();
+            var contentType = part.getMediaType() != null ? part.getMediaType().toString() : ContentTypes.fromFileName(fileName);
+            return new ArchiveReader.Entry(fileName, contentType, part.getValueAs(InputStream.class));
+        };
+        return archiveService.importArchive(reader, parseProperties(metadata));
+    }
+
+    /**
+     * Uploads every file of a zip archive as a certificate.
+     */
+    @POST
+    @Path("/bulk")
+    @Consumes({ "application/zip", "application/x-zip-compressed" })
+    public List<CertMetadata> bulkUploadZip(InputStream archive) {
+        return archiveService.importArchive(new ZipArchiveReader(archive), Map.of());
+    }
+
+    /**
+     * Uploads every regular file of a tar archive as a certificate.
+     */
+    @POST
+    @Path("/bulk")
+    @Consumes("application/x-tar")
+    public List<CertMetadata> bulkUploadTar(InputStream archive) {
+        return archiveService.importArchive(new TarArchiveReader(archive), Map.of());
+    }
+
+    /**
+     * Downloads all certificates matching the query as a zip archive.
+     */
+    @POST
+    @Path("/bulk/download")
+    @Produces("application/zip")
+    public Response bulkDownload(QuerySpec querySpec) {
+        var query = Optional.ofNullable(querySpec).orElseGet(() -> QuerySpec.Builder.newInstance().build());
+        StreamingOutput archive = output -> archiveService.exportArchive(query, output);
+        return Response.ok(archive).build();
+    }
+
     @POST
     @Path("/request")
-    public List<CertMetadata> queryCertificates(QuerySpec querySpec) {
+    public Response queryCertificates(@QueryParam("cursor") String cursor, QuerySpec querySpec) {
 
         var query = Optional.ofNullable(querySpec)
                 .orElseGet(() -> QuerySpec.Builder.newInstance().build());
 
-        return transactionContext.execute(() -> certStore.queryMetadata(query));
+        return transactionContext.execute(() -> page(certStore, query, cursor, Function.identity()));
+    }
+
+    /**
+     * Runs a metadata query. Queries without an offset are paginated by keyset, the cursor of the next page is
+     * returned in the {@value #NEXT_CURSOR} header. Queries with an offset keep the offset semantics.
+     */
+    static Response page(CertStore certStore, QuerySpec query, String cursor, Function<CertMetadata, CertMetadata> mapper) {
+        if (cursor == null && query.getOffset() > 0) {
+            return Response.ok(certStore.queryMetadata(query).stream().map(mapper).toList()).build();
+        }
+        var page = certStore.queryMetadata(query, cursor);
+        var response = Response.ok(page.items().stream().map(mapper).toList());
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR, page.nextCursor());
+        }
+        return response.build();
     }
 
     @DELETE
     @Path("/{id}")
     public Response certificateDelete(@PathParam("id") String id) {
-        return transactionContext.execute(() -> {
-            certStore.delete(id);
-            return Response.ok().build();
-        });
+        certStore.delete(id);
+        return Response.ok().build();
     }
 
+    /**
+     * Returns the certificates inserted, updated or deleted after the cursor. With {@code wait}, the request is held
+     * for up to that many seconds until there is a change.
+     */
+    @GET
+    @Path("/changes")
+    public void changes(@QueryParam("since") Long since, @QueryParam("limit") Integer limit, @QueryParam("wait") Integer waitSeconds, @Suspended AsyncResponse response) {
+        try {
+            ChangeResponses.longPoll(certStore, changeFeed, changeReaders, since, limit, waitSeconds, UnaryOperator.identity(), response);
+        } catch (RuntimeException e) {
+            response.resume(e);
+        }
+    }
+
+    /**
+     * Downloads a certificate with a single statement, the response is written while that statement is open.
+     */
     @GET
     @Path("/{id}")
-    public Response certificateDownload(@PathParam("id") String id) {
-        return transactionContext.execute(() -> {
-            var metadata = certStore.getMetadata(id);
-            if (metadata == null) {
-                return Response.status(Response.Status.NOT_FOUND).build();
+    public void certificateDownload(@PathParam("id") String id, @HeaderParam(ACCEPT_ENCODING) String acceptEncoding, @Context Request request,
+                                    @Suspended AsyncResponse response) {
+        try {
+            var cached = CertResponses.notModifiedFromCache(certStore, id, request, acceptEncoding);
+            if (cached != null) {
+                response.resume(cached);
+                return;
+            }
+            var found = certStore.download(id, (metadata, content) -> {
+                var encoding = CertResponses.encoding(acceptEncoding, content);
+                var notModified = CertResponses.notModified(request, metadata, encoding);
+                response.resume(notModified != null ? notModified : CertResponses.content(metadata, content, encoding));
+            });
+            if (!found) {
+                response.resume(Response.status(Response.Status.NOT_FOUND).build());
             }
-            StreamingOutput stream = output -> {
-                try (InputStream is = certStore.retrieve(id)) {
-                    is.transferTo(output);
-                }
-            };
-
-            return Response.ok(stream)
-                    .header("Content-Type", metadata.contentType())
-                    .build();
-        });
+        } catch (RuntimeException e) {
+            response.resume(e);
+        }
+    }
+
+    /**
+     * Returns the statistics of the certificate metadata cache, or 404 if the cache is disabled.
+     */
+    @GET
+    @Path("/cache-stats")
+    public Response cacheStats() {
+        if (certStore instanceof CachingCertStore cachingCertStore) {
+            return Response.ok(cachingCertStore.stats()).build();
+        }
+        return Response.status(Response.Status.NOT_FOUND).build();
+    }
+
+    /**
+     * Returns the activity history of a certificate, newest entries first. The next page is requested by passing the
+     * {@code nextCursor} of a page as {@code before}.
+     */
+    @GET
+    @Path("/{id}/history")
+    public ActivityPage certificateHistory(@PathParam("id") String id, @QueryParam("before") Long before, @QueryParam("limit") Integer limit) {
+        var pageSize = limit == null ? DEFAULT_HISTORY_LIMIT : Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+        return activityStore.history(id, before, pageSize);
+    }
+
+    private Map<String, Object> parseProperties(String metadata) {
+        if (metadata == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.convertValue(objectMapper.readTree(metadata), getTypeRef());
+        } catch (Exception e) {
+            throw new BadRequestException(e);
+        }
     }
 
     @NotNull
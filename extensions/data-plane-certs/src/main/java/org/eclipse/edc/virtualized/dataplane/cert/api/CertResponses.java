@@ -0,0 +1,132 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.api;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CachingCertStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Builds certificate download responses. The hash of the content serves as strong entity tag, so clients can
+ * revalidate with {@code If-None-Match} instead of downloading unchanged content again. Content stored compressed is
+ * sent as stored if the client accepts its coding, and decoded otherwise; each coding has its own entity tag.
+ */
+final class CertResponses {
+
+    private CertResponses() {
+    }
+
+    /**
+     * Selects the coding the content is sent with.
+     *
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request
+     * @return the coding the content is stored with if the client accepts it, null if the content must be decoded
+     */
+    static @Nullable String encoding(@Nullable String acceptEncoding, CertStore.Content content) {
+        return encoding(acceptEncoding, content.encoding());
+    }
+
+    /**
+     * Answers a revalidation from the metadata cache of the store, without reading the certificate. The entity tag is
+     * the hash of the content, so a match means that the client has the current content, as far as the cache is
+     * current.
+     *
+     * @return the 304 response if the cached metadata matches the preconditions, null if the certificate must be read
+     */
+    static @Nullable Response notModifiedFromCache(CertStore certStore, String id, Request request, @Nullable String acceptEncoding) {
+        if (!(certStore instanceof CachingCertStore cachingCertStore)) {
+            return null;
+        }
+        var metadata = cachingCertStore.cachedMetadata(id);
+        if (metadata == null) {
+            return null;
+        }
+        return notModified(request, metadata, encoding(acceptEncoding, metadata.contentEncoding()));
+    }
+
+    private static @Nullable String encoding(@Nullable String acceptEncoding, @Nullable String stored) {
+        if (stored == null || acceptEncoding == null) {
+            return null;
+        }
+        var quality = 0.0;
+        for (var element : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            var parts = element.trim().split(";");
+            var coding = parts[0].trim();
+            if (coding.equals(stored) || "*".equals(coding) || "gzip".equals(stored) && "x-gzip".equals(coding)) {
+                quality = Math.max(quality, quality(parts));
+            }
+        }
+        return quality > 0 ? stored : null;
+    }
+
+    /**
+     * Evaluates the preconditions of the request against the content hash.
+     *
+     * @param encoding the coding the content would be sent with, or null
+     * @return the 304 response if the client has the current content, null if the content must be sent
+     */
+    static @Nullable Response notModified(Request request, CertMetadata metadata, @Nullable String encoding) {
+        if (metadata.contentHash() == null) {
+            return null;
+        }
+        var response = request.evaluatePreconditions(entityTag(metadata, encoding));
+        return response != null ? response.build() : null;
+    }
+
+    /**
+     * Sends the content, as stored if it is sent with a coding and decoded otherwise.
+     *
+     * @param encoding the coding selected by {@link #encoding(String, CertStore.Content)}, or null
+     */
+    static Response content(CertMetadata metadata, CertStore.Content content, @Nullable String encoding) {
+        StreamingOutput stream = encoding != null ? content::writeEncodedTo : content::writeTo;
+        var response = Response.ok(stream).header("Content-Type", metadata.contentType());
+        if (encoding != null) {
+            response.header("Content-Encoding", encoding);
+        }
+        if (content.encoding() != null) {
+            // the representation depends on the request headers, caches must not serve one for the other
+            response.header("Vary", "Accept-Encoding");
+        }
+        if (metadata.contentHash() != null) {
+            response.tag(entityTag(metadata, encoding));
+        }
+        return response.build();
+    }
+
+    private static EntityTag entityTag(CertMetadata metadata, @Nullable String encoding) {
+        return new EntityTag(encoding != null ? metadata.contentHash() + "-" + encoding : metadata.contentHash());
+    }
+
+    private static double quality(String[] parts) {
+        for (var i = 1; i < parts.length; i++) {
+            var parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.virtualized.dataplane.cert.feed.ChangeFeed;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertChange;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ChangePage;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.ChangesPrunedException;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Serves the certificate change feed, either as pages that can be long-polled or as a stream of server-sent events.
+ * Readers pass the cursor of the last page, or the id of the last event, and only receive what changed since, so the
+ * cost of a sync is proportional to the number of changes rather than to the number of certificates.
+ * <p>
+ * Readers whose cursor lies before changes pruned from the feed receive 410, or a terminal {@code reset} event on a
+ * stream, and must resync with a full query.
+ */
+final class ChangeResponses {
+    static final String EVENT_STREAM = "text/event-stream";
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+    static final int MAX_WAIT_SECONDS = 60;
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    private ChangeResponses() {
+    }
+
+    /**
+     * Resumes the response with the changes after the cursor. If there are none and the reader asked to wait, the
+     * response is held until the feed advances or the wait is over. The page is then read on the given executor, not
+     * on the thread of the feed or of the timeout, which all waiting readers share.
+     */
+    static void longPoll(CertStore certStore, ChangeFeed changeFeed, Executor executor, @Nullable Long since, @Nullable Integer limit, @Nullable Integer waitSeconds,
+                         UnaryOperator<CertChange> mapper, AsyncResponse response) {
+        var cursor = since != null ? since : 0L;
+        var pageSize = pageSize(limit);
+        ChangePage page;
+        try {
+            page = certStore.changes(cursor, pageSize);
+        } catch (ChangesPrunedException e) {
+            response.resume(gone(certStore));
+            return;
+        }
+        var wait = waitSeconds != null ? Math.min(waitSeconds, MAX_WAIT_SECONDS) : 0;
+        if (page.cursor() != cursor || wait <= 0) {
+            response.resume(ok(page, mapper));
+            return;
+        }
+        changeFeed.awaitAfter(cursor)
+                .orTimeout(wait, TimeUnit.SECONDS)
+                .whenCompleteAsync((ignored, throwable) -> {
+                    try {
+                        response.resume(ok(throwable != null ? page : certStore.changes(cursor, pageSize), mapper));
+                    } catch (ChangesPrunedException e) {
+                        response.resume(gone(certStore));
+                    } catch (RuntimeException e) {
+                        response.resume(e);
+                    }
+                }, executor);
+    }
+
+    /**
+     * Streams the changes after the cursor as server-sent events, and then the changes as they happen, until the
+     * stream has been open for the given duration. The id of each event is the cursor to resume from, readers that
+     * reconnect with {@code Last-Event-ID} continue where they left off.
+     */
+    static StreamingOutput eventStream(CertStore certStore, ChangeFeed changeFeed, ObjectMapper objectMapper, long since, Duration duration,
+                                       UnaryOperator<CertChange> mapper) {
+        return output -> {
+            var writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            var deadline = System.nanoTime() + duration.toNanos();
+            var cursor = since;
+            writer.write("retry: 1000\n\n");
+            writer.flush();
+            while (System.nanoTime() < deadline) {
+                ChangePage page;
+                try {
+                    page = certStore.changes(cursor, MAX_LIMIT);
+                } catch (ChangesPrunedException e) {
+                    // terminal event without an id, readers resync and reconnect from the cursor in its data
+                    writer.write("event: reset\n");
+                    writer.write("data: " + objectMapper.writeValueAsString(new ChangePage(List.of(), certStore.latestChange())) + "\n\n");
+                    writer.flush();
+                    return;
+                }
+                for (var change : page.items()) {
+                    writer.write("id: " + change.sequence() + "\n");
+                    writer.write("event: " + change.operation().toLowerCase(Locale.ROOT) + "\n");
+                    writer.write("data: " + objectMapper.writeValueAsString(mapper.apply(change)) + "\n\n");
+                }
+                if (page.cursor() != cursor) {
+                    cursor = page.cursor();
+                    writer.flush();
+                    continue;
+                }
+                var changed = changeFeed.awaitAfter(cursor);
+                try {
+                    var remaining = Math.min(HEARTBEAT.toNanos(), deadline - System.nanoTime());
+                    changed.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // a comment keeps proxies from closing an idle stream and detects readers that went away
+                    writer.write(": keep-alive\n\n");
+                    writer.flush();
+                } catch (ExecutionException e) {
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    // lets the feed drop the waiter instead of polling for it
+                    changed.cancel(false);
+                }
+            }
+            writer.flush();
+        };
+    }
+
+    /**
+     * Returns the cursor a stream starts from: the id of the last event received, which browsers send on reconnect,
+     * or else the {@code since} parameter.
+     */
+    static long streamStart(@Nullable String lastEventId, @Nullable Long since) {
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                return Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // not an id of this feed, fall back to the parameter
+            }
+        }
+        return since != null ? since : 0L;
+    }
+
+    private static int pageSize(@Nullable Integer limit) {
+        return limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Answers readers whose cursor lies before pruned changes with 410 and an empty page. Its cursor is where the reader
+     * continues after resyncing with a full query.
+     */
+    private static Response gone(CertStore certStore) {
+        return Response.status(Response.Status.GONE).entity(new ChangePage(List.of(), certStore.latestChange())).build();
+    }
+
+    private static Response ok(ChangePage page, UnaryOperator<CertChange> mapper) {
+        return Response.ok(new ChangePage(page.items().stream().map(mapper).toList(), page.cursor())).build();
+    }
+}
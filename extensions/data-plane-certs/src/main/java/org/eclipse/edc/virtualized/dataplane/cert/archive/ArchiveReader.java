@@ -0,0 +1,44 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.archive;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the files of an archive one after the other, without buffering them. The content of an entry can only be read
+ * until the next entry is requested.
+ */
+public interface ArchiveReader {
+
+    /**
+     * Returns the next file of the archive.
+     *
+     * @return the next file, or null at the end of the archive
+     */
+    @Nullable
+    Entry next() throws IOException;
+
+    /**
+     * A file of an archive.
+     *
+     * @param name        the name of the file
+     * @param contentType the content type of the file
+     * @param content     the content of the file, which must not be closed
+     */
+    record Entry(String name, String contentType, InputStream content) {
+    }
+}
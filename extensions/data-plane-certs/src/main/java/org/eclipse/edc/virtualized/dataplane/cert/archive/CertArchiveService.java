@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.archive;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Imports certificates from archives and exports them as zip archives. Both directions stream the content between the
+ * archive and the store, so neither needs memory or temporary files proportional to the archive.
+ */
+public class CertArchiveService {
+    public static final String FILE_NAME_PROPERTY = "fileName";
+    private static final int EXPORT_PAGE_SIZE = 100;
+
+    private final CertStore certStore;
+    private final TransactionContext transactionContext;
+    private final int batchSize;
+
+    public CertArchiveService(CertStore certStore, TransactionContext transactionContext, int batchSize) {
+        this.certStore = certStore;
+        this.transactionContext = transactionContext;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Stores every file of the archive as a certificate. Files are stored in transactions of up to the batch size, so a
+     * failure keeps the batches committed before it.
+     *
+     * @param reader     the archive
+     * @param properties properties set on every certificate, the name of the file is added as {@value #FILE_NAME_PROPERTY}
+     * @return the metadata of the stored certificates
+     */
+    public List<CertMetadata> importArchive(ArchiveReader reader, Map<String, Object> properties) {
+        var stored = new ArrayList<CertMetadata>();
+        while (true) {
+            // each batch is one transaction, its changes are recorded at its end so other writers are not blocked while entries are read
+            var batch = certStore.batch(() -> {
+                var batchResult = new ArrayList<CertMetadata>();
+                while (batchResult.size() < batchSize) {
+                    var entry = nextEntry(reader);
+                    if (entry == null) {
+                        break;
+                    }
+                    var certProperties = new HashMap<>(properties);
+                    certProperties.put(FILE_NAME_PROPERTY, entry.name());
+                    var id = UUID.randomUUID().toString();
+                    batchResult.add(certStore.store(id, new CertMetadata(id, entry.contentType(), certProperties), entry.content()));
+                }
+                return batchResult;
+            });
+            stored.addAll(batch);
+            if (batch.size() < batchSize) {
+                return stored;
+            }
+        }
+    }
+
+    /**
+     * Writes all certificates matching the filter of the query as a zip archive.
+     *
+     * @see #exportArchive(QuerySpec, OutputStream, Consumer)
+     */
+    public void exportArchive(QuerySpec query, OutputStream output) throws IOException {
+        exportArchive(query, output, metadata -> {
+        });
+    }
+
+    /**
+     * Writes all certificates matching the filter of the query as a zip archive. The limit and offset of the query are
+     * ignored, the certificates are read page by page in the sort order of the query. Certificates deleted while the
+     * archive is written are left out.
+     *
+     * @param query   the query
+     * @param output  the stream the archive is written to
+     * @param onEntry called for every certificate after it has been written, not for those left out
+     */
+    public void exportArchive(QuerySpec query, OutputStream output, Consumer<CertMetadata> onEntry) throws IOException {
+        var pageQuery = QuerySpec.Builder.newInstance()
+                .filter(query.getFilterExpression())
+                .sortField(query.getSortField())
+                .sortOrder(query.getSortOrder())
+                .limit(EXPORT_PAGE_SIZE)
+                .build();
+        var zip = new ZipOutputStream(output);
+        String cursor = null;
+        do {
+            var pageCursor = cursor;
+            var page = transactionContext.execute(() -> certStore.queryMetadata(pageQuery, pageCursor));
+            for (var metadata : page.items()) {
+                // the entry is only started once the certificate is found, certificates deleted meanwhile are skipped
+                var written = transactionContext.execute(() -> certStore.download(metadata.id(), (current, content) -> {
+                    zip.putNextEntry(new ZipEntry(current.id() + "." + ContentTypes.extension(current.contentType())));
+                    content.writeTo(zip);
+                    zip.closeEntry();
+                }));
+                if (written) {
+                    onEntry.accept(metadata);
+                }
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        zip.finish();
+    }
+
+    private ArchiveReader.Entry nextEntry(ArchiveReader reader) {
+        try {
+            return reader.next();
+        } catch (IOException e) {
+            throw new EdcException("Failed to read archive: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.archive;
+
+import java.net.URLConnection;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps between file names and the content types of certificates.
+ */
+public final class ContentTypes {
+    public static final String OCTET_STREAM = "application/octet-stream";
+
+    private static final Map<String, String> BY_EXTENSION = Map.of(
+            "pem", "application/x-pem-file",
+            "crt", "application/x-x509-ca-cert",
+            "cer", "application/pkix-cert",
+            "der", "application/pkix-cert",
+            "p7b", "application/pkcs7-mime",
+            "p7c", "application/pkcs7-mime",
+            "pdf", "application/pdf",
+            "json", "application/json"
+    );
+    private static final Map<String, String> BY_CONTENT_TYPE = Map.of(
+            "application/x-pem-file", "pem",
+            "application/x-x509-ca-cert", "crt",
+            "application/pkix-cert", "cer",
+            "application/pkcs7-mime", "p7b",
+            "application/pdf", "pdf",
+            "application/json", "json"
+    );
+
+    private ContentTypes() {
+    }
+
+    public static String fromFileName(String fileName) {
+        var dot = fileName.lastIndexOf('.');
+        var known = dot < 0 ? null : BY_EXTENSION.get(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+        if (known != null) {
+            return known;
+        }
+        var guessed = URLConnection.guessContentTypeFromName(fileName);
+        return guessed != null ? guessed : OCTET_STREAM;
+    }
+
+    public static String extension(String contentType) {
+        if (contentType == null) {
+            return "bin";
+        }
+        var baseType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        return BY_CONTENT_TYPE.getOrDefault(baseType, "bin");
+    }
+}
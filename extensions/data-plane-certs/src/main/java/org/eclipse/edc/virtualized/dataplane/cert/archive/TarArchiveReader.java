@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.archive;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the regular files of a POSIX (ustar) or GNU tar stream. Directories, links and extended headers are skipped,
+ * which means names longer than 100 characters without a ustar prefix are truncated.
+ */
+public class TarArchiveReader implements ArchiveReader {
+    private static final int BLOCK = 512;
+
+    private final InputStream input;
+    private EntryStream current;
+
+    public TarArchiveReader(InputStream input) {
+        this.input = input;
+    }
+
+    @Override
+    public @Nullable Entry next() throws IOException {
+        while (true) {
+            if (current != null) {
+                current.skipToEnd();
+                current = null;
+            }
+            var header = input.readNBytes(BLOCK);
+            if (header.length > 0 && header.length < BLOCK) {
+                throw new EOFException("Truncated tar header");
+            }
+            // archives cut after their last entry, without the end-of-archive blocks, are accepted
+            if (header.length == 0 || isZero(header)) {
+                return null;
+            }
+            var name = string(header, 0, 100);
+            var size = octal(header, 124, 12);
+            var type = (char) header[156];
+            var prefix = "ustar".equals(string(header, 257, 5)) ? string(header, 345, 155) : "";
+            current = new EntryStream(input, size);
+            if (type == '0' || type == '\0') {
+                var path = prefix.isEmpty() ? name : prefix + "/" + name;
+                return new Entry(ZipArchiveReader.baseName(path), ContentTypes.fromFileName(path), current);
+            }
+        }
+    }
+
+    private static boolean isZero(byte[] block) {
+        for (var b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String string(byte[] header, int offset, int length) {
+        var end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static long octal(byte[] header, int offset, int length) throws IOException {
+        var value = string(header, offset, length).trim();
+        try {
+            return value.isEmpty() ? 0 : Long.parseLong(value, 8);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid tar header, size is not octal: " + value);
+        }
+    }
+
+    /**
+     * The content of an entry, followed by the padding to the next block.
+     */
+    private static class EntryStream extends InputStream {
+        private final InputStream input;
+        private final long padding;
+        private long remaining;
+
+        EntryStream(InputStream input, long size) {
+            this.input = input;
+            this.remaining = size;
+            this.padding = (BLOCK - size % BLOCK) % BLOCK;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            var b = input.read();
+            if (b < 0) {
+                throw new EOFException("Truncated tar entry");
+            }
+            remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            var read = input.read(b, off, (int) Math.min(len, remaining));
+            if (read < 0) {
+                throw new EOFException("Truncated tar entry");
+            }
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // the entry is skipped when the next one is read, the archive stays open
+        }
+
+        void skipToEnd() throws IOException {
+            var toSkip = remaining + padding;
+            remaining = 0;
+            input.skipNBytes(toSkip);
+        }
+    }
+}
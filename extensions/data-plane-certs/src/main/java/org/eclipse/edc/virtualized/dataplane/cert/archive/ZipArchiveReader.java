@@ -0,0 +1,45 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.archive;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the files of a zip stream, directories are skipped.
+ */
+public class ZipArchiveReader implements ArchiveReader {
+    private final ZipInputStream zip;
+
+    public ZipArchiveReader(InputStream input) {
+        this.zip = new ZipInputStream(input);
+    }
+
+    @Override
+    public @Nullable Entry next() throws IOException {
+        for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            if (!entry.isDirectory()) {
+                return new Entry(baseName(entry.getName()), ContentTypes.fromFileName(entry.getName()), zip);
+            }
+        }
+        return null;
+    }
+
+    static String baseName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
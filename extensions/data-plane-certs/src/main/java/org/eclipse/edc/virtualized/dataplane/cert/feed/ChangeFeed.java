@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.feed;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wakes up long-polling and streaming readers of the certificate change feed. A single task polls the latest position
+ * of the feed while readers are waiting, so the database sees one query per interval regardless of the number of
+ * readers, and none while nobody waits. Changes made through other instances sharing the database are picked up the
+ * same way.
+ * <p>
+ * The same task prunes changes older than the retention once per hour, so the feed does not grow without bound.
+ */
+public class ChangeFeed {
+    private static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+
+    private final CertStore certStore;
+    private final ScheduledExecutorService executor;
+    private final Monitor monitor;
+    private final long pollIntervalMillis;
+    private final Duration retention;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates the feed.
+     *
+     * @param retention how long changes are kept, {@link Duration#ZERO} keeps them forever
+     */
+    public ChangeFeed(CertStore certStore, ScheduledExecutorService executor, Monitor monitor, long pollIntervalMillis, Duration retention) {
+        this.certStore = certStore;
+        this.executor = executor;
+        this.monitor = monitor;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retention = retention;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        if (retention.isPositive()) {
+            executor.scheduleWithFixedDelay(this::prune, 0, PRUNE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops polling, waiting readers are completed so that they return what they have.
+     */
+    public void stop() {
+        executor.shutdownNow();
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiter.future().complete(null);
+        }
+    }
+
+    /**
+     * Returns a future that completes once the feed has advanced beyond the given cursor. Callers bound the wait with
+     * {@link CompletableFuture#orTimeout(long, TimeUnit)} or a timed get.
+     *
+     * @param since the cursor the reader has seen
+     */
+    public CompletableFuture<Void> awaitAfter(long since) {
+        var future = new CompletableFuture<Void>();
+        waiters.add(new Waiter(since, future));
+        return future;
+    }
+
+    private void poll() {
+        // readers that timed out or disconnected are dropped
+        waiters.removeIf(waiter -> waiter.future().isDone());
+        if (waiters.isEmpty()) {
+            return;
+        }
+        try {
+            var latest = certStore.latestChange();
+            waiters.removeIf(waiter -> {
+                if (waiter.since() < latest) {
+                    waiter.future().complete(null);
+                }
+                return waiter.future().isDone();
+            });
+        } catch (Exception e) {
+            monitor.warning("Failed to read the latest position of the certificate change feed", e);
+        }
+    }
+
+    private void prune() {
+        try {
+            var pruned = certStore.pruneChanges(Instant.now().minus(retention).getEpochSecond());
+            if (pruned > 0) {
+                monitor.debug("Pruned %d certificate changes older than %s".formatted(pruned, retention));
+            }
+        } catch (Exception e) {
+            monitor.warning("Failed to prune the certificate change feed", e);
+        }
+    }
+
+    private record Waiter(long since, CompletableFuture<Void> future) {
+    }
+}
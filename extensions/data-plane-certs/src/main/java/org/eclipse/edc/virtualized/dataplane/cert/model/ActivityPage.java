@@ -0,0 +1,27 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A page of the activity history of a certificate, newest entries first.
+ *
+ * @param items      the entries of this page
+ * @param nextCursor the cursor of the next (older) page, or null if this is the last page
+ */
+public record ActivityPage(List<ActivityItem> items, @Nullable Long nextCursor) {
+}
@@ -0,0 +1,34 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.model;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An insert, update or delete of a certificate in the change feed.
+ *
+ * @param sequence  the position of the change in the feed, strictly increasing in commit order
+ * @param id        the unique identifier of the certificate
+ * @param operation {@link #UPSERT} or {@link #DELETE}
+ * @param timestamp the time of the change in epoch seconds
+ * @param metadata  the current metadata of the certificate for {@link #UPSERT}, null for {@link #DELETE}
+ */
+public record CertChange(long sequence, String id, String operation, long timestamp, @Nullable CertMetadata metadata) {
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    public CertChange withoutHistory() {
+        return new CertChange(sequence, id, operation, timestamp, metadata != null ? metadata.withoutHistory() : null);
+    }
+}
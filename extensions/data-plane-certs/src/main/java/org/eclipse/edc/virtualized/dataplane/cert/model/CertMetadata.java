@@ -17,9 +17,40 @@ package org.eclipse.edc.virtualized.dataplane.cert.model;
 import java.util.List;
 import java.util.Map;
 
-public record CertMetadata(String id, String contentType, Map<String, Object> properties, List<ActivityItem> history) {
+/**
+ * Metadata of a certificate.
+ *
+ * @param contentHash     the hex-encoded SHA-256 hash of the content, set by the store; null for certificates stored
+ *                        before content hashes were recorded
+ * @param x509            the fields of the first X.509 certificate in the content, set by the store; null if the content
+ *                        is not a certificate
+ * @param contentEncoding the content coding the content is stored with, e.g. gzip, set by the store; null if the
+ *                        content is stored as is
+ */
+public record CertMetadata(String id, String contentType, Map<String, Object> properties, List<ActivityItem> history, String contentHash, X509Info x509,
+                           String contentEncoding) {
 
     public CertMetadata(String id, String contentType, Map<String, Object> properties) {
-        this(id, contentType, properties, List.of());
+        this(id, contentType, properties, List.of(), null, null, null);
+    }
+
+    public CertMetadata(String id, String contentType, Map<String, Object> properties, List<ActivityItem> history) {
+        this(id, contentType, properties, history, null, null, null);
+    }
+
+    public CertMetadata withContentHash(String contentHash) {
+        return new CertMetadata(id, contentType, properties, history, contentHash, x509, contentEncoding);
+    }
+
+    public CertMetadata withX509(X509Info x509) {
+        return new CertMetadata(id, contentType, properties, history, contentHash, x509, contentEncoding);
+    }
+
+    public CertMetadata withContentEncoding(String contentEncoding) {
+        return new CertMetadata(id, contentType, properties, history, contentHash, x509, contentEncoding);
+    }
+
+    public CertMetadata withoutHistory() {
+        return new CertMetadata(id, contentType, properties, List.of(), contentHash, x509, contentEncoding);
     }
 }
@@ -0,0 +1,26 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.model;
+
+import java.util.List;
+
+/**
+ * A page of the change feed, oldest changes first. Changes of the same certificate within a page are collapsed into the
+ * latest one.
+ *
+ * @param items  the changes of this page
+ * @param cursor the cursor to pass as {@code since} for the following changes, unchanged if there were none
+ */
+public record ChangePage(List<CertChange> items, long cursor) {
+}
@@ -0,0 +1,27 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A page of certificate metadata.
+ *
+ * @param items      the metadata of this page
+ * @param nextCursor the opaque cursor of the next page, or null if this is the last page
+ */
+public record MetadataPage(List<CertMetadata> items, @Nullable String nextCursor) {
+}
@@ -0,0 +1,28 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.model;
+
+/**
+ * Fields of an X.509 certificate that can be queried without reading the content.
+ *
+ * @param subject      the subject distinguished name, in RFC 2253 format
+ * @param issuer       the issuer distinguished name, in RFC 2253 format
+ * @param serialNumber the serial number, hex-encoded
+ * @param fingerprint  the hex-encoded SHA-256 hash of the DER encoding
+ * @param notBefore    the start of the validity period, in epoch seconds
+ * @param notAfter     the end of the validity period, in epoch seconds
+ * @param count        the number of certificates in the content, the other fields describe the first one
+ */
+public record X509Info(String subject, String issuer, String serialNumber, String fingerprint, long notBefore, long notAfter, int count) {
+}
@@ -0,0 +1,245 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ChangePage;
+import org.eclipse.edc.virtualized.dataplane.cert.model.MetadataPage;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * {@link CertStore} decorator that caches the metadata of certificates by id in a size-bounded LRU map. Entries are
+ * invalidated by writes through this instance, and expire after a time to live to bound how long writes of other
+ * instances sharing the database remain unseen. Queries and content are not cached.
+ * <p>
+ * A write is invalidated before and after it runs, so a read in between cannot keep the previous metadata cached.
+ * Writes in a {@link #batch(Supplier)} are invalidated again once the batch has committed, and reads that overlap an
+ * invalidation are not cached, since they may have read the metadata being replaced.
+ * <p>
+ * Downloads refresh the cache with the metadata they read. Revalidations of a download can be answered from the cache
+ * with {@link #cachedMetadata(String)}, without querying the database.
+ */
+public class CachingCertStore implements CertStore {
+    private final CertStore delegate;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> cache;
+    private final ThreadLocal<Set<String>> batchWrites = new ThreadLocal<>();
+    private long invalidations;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CachingCertStore(CertStore delegate, int maxSize, Duration ttl, Clock clock) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public CertMetadata store(String id, CertMetadata metadata, InputStream content) {
+        invalidate(id);
+        var stored = delegate.store(id, metadata, content);
+        invalidateWritten(id);
+        return stored;
+    }
+
+    @Override
+    public void delete(String id) {
+        invalidate(id);
+        delegate.delete(id);
+        invalidateWritten(id);
+    }
+
+    @Override
+    public List<CertMetadata> queryMetadata(QuerySpec querySpec) {
+        return delegate.queryMetadata(querySpec);
+    }
+
+    @Override
+    public MetadataPage queryMetadata(QuerySpec querySpec, @Nullable String cursor) {
+        return delegate.queryMetadata(querySpec, cursor);
+    }
+
+    @Override
+    public CertMetadata getMetadata(String id) {
+        var now = clock.millis();
+        long invalidationsBefore;
+        synchronized (cache) {
+            var entry = cache.get(id);
+            if (entry != null && entry.expiresAt() > now) {
+                hits++;
+                return entry.metadata();
+            }
+            misses++;
+            invalidationsBefore = invalidations;
+        }
+        var metadata = delegate.getMetadata(id);
+        if (metadata != null) {
+            cache(id, metadata, now, invalidationsBefore);
+        }
+        return metadata;
+    }
+
+    /**
+     * Returns the cached metadata of a certificate, without going to the delegate.
+     *
+     * @return the metadata, or null if it is not cached or expired
+     */
+    public @Nullable CertMetadata cachedMetadata(String id) {
+        var now = clock.millis();
+        synchronized (cache) {
+            var entry = cache.get(id);
+            if (entry != null && entry.expiresAt() > now) {
+                hits++;
+                return entry.metadata();
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public boolean retrieve(String id, OutputStream output) {
+        return delegate.retrieve(id, output);
+    }
+
+    /**
+     * Always goes to the delegate, which reads metadata and content in one statement, and refreshes the cached
+     * metadata with what it read.
+     */
+    @Override
+    public boolean download(String id, DownloadHandler handler) {
+        var now = clock.millis();
+        long invalidationsBefore;
+        synchronized (cache) {
+            invalidationsBefore = invalidations;
+        }
+        return delegate.download(id, (metadata, content) -> {
+            cache(id, metadata, now, invalidationsBefore);
+            handler.handle(metadata, content);
+        });
+    }
+
+    @Override
+    public void updateMetadata(String id, CertMetadata metadata) {
+        invalidate(id);
+        delegate.updateMetadata(id, metadata);
+        invalidateWritten(id);
+    }
+
+    @Override
+    public ChangePage changes(long since, int limit) {
+        return delegate.changes(since, limit);
+    }
+
+    @Override
+    public long latestChange() {
+        return delegate.latestChange();
+    }
+
+    /**
+     * Runs the batch on the delegate and invalidates the certificates written by it once it has committed.
+     */
+    @Override
+    public <T> T batch(Supplier<T> batch) {
+        if (batchWrites.get() != null) {
+            return delegate.batch(batch);
+        }
+        var written = new HashSet<String>();
+        batchWrites.set(written);
+        try {
+            return delegate.batch(batch);
+        } finally {
+            batchWrites.remove();
+            written.forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public int pruneChanges(long before) {
+        return delegate.pruneChanges(before);
+    }
+
+    /**
+     * Returns the statistics of the cache.
+     */
+    public Stats stats() {
+        synchronized (cache) {
+            return new Stats(hits, misses, evictions, cache.size());
+        }
+    }
+
+    private void cache(String id, CertMetadata metadata, long readAt, long invalidationsBefore) {
+        synchronized (cache) {
+            if (invalidations == invalidationsBefore) {
+                cache.put(id, new Entry(metadata, readAt + ttl.toMillis()));
+            }
+        }
+    }
+
+    /**
+     * Invalidates a written certificate, a read between the invalidation before the write and the write may have cached
+     * the previous metadata. Within a batch, the certificate is invalidated once more after the batch has committed.
+     */
+    private void invalidateWritten(String id) {
+        invalidate(id);
+        var written = batchWrites.get();
+        if (written != null) {
+            written.add(id);
+        }
+    }
+
+    private void invalidate(String id) {
+        synchronized (cache) {
+            cache.remove(id);
+            invalidations++;
+        }
+    }
+
+    private record Entry(CertMetadata metadata, long expiresAt) {
+    }
+
+    /**
+     * Statistics of the metadata cache.
+     *
+     * @param hits      the number of lookups answered from the cache
+     * @param misses    the number of lookups that went to the delegate
+     * @param evictions the number of entries removed to stay within the size bound
+     * @param size      the current number of entries
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+}
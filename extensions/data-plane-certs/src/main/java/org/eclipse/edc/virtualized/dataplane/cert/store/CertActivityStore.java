@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store;
+
+import org.eclipse.edc.virtualized.dataplane.cert.model.ActivityItem;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ActivityPage;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Append-only store for the activity history of certificates.
+ */
+public interface CertActivityStore {
+
+    /**
+     * Appends activity entries.
+     *
+     * @param entries the entries to append
+     */
+    void append(List<Entry> entries);
+
+    /**
+     * Returns a page of the history of a certificate, newest entries first.
+     *
+     * @param certId the unique identifier of the certificate
+     * @param before only entries older than this cursor are returned, null for the first page
+     * @param limit  the maximum number of entries
+     * @return the page
+     */
+    ActivityPage history(String certId, @Nullable Long before, int limit);
+
+    /**
+     * An activity on a certificate.
+     *
+     * @param certId the unique identifier of the certificate
+     * @param item   the activity
+     */
+    record Entry(String certId, ActivityItem item) {
+    }
+}
@@ -14,11 +14,19 @@
 
 package org.eclipse.edc.virtualized.dataplane.cert.store;
 
+import org.eclipse.edc.spi.EdcException;
 import org.eclipse.edc.spi.query.QuerySpec;
 import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ChangePage;
+import org.eclipse.edc.virtualized.dataplane.cert.model.MetadataPage;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Store for data plane certificates.
@@ -31,8 +39,23 @@ public interface CertStore {
      * @param id       the unique identifier for the certificate
      * @param metadata the metadata associated with the certificate
      * @param content  the certificate content as a byte array
+     * @return the stored metadata, including the hash of the content
      */
-    void store(String id, CertMetadata metadata, byte[] content);
+    default CertMetadata store(String id, CertMetadata metadata, byte[] content) {
+        return store(id, metadata, new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Stores a certificate along with its metadata, reading the content from a stream. The content is never held in
+     * memory as a whole, so arbitrarily large certificate bundles can be stored. The SHA-256 hash of the content is
+     * computed while it is read, and content that is already stored under the same hash is shared rather than copied.
+     *
+     * @param id       the unique identifier for the certificate
+     * @param metadata the metadata associated with the certificate
+     * @param content  the certificate content, the stream is read to its end but not closed
+     * @return the stored metadata, including the hash of the content
+     */
+    CertMetadata store(String id, CertMetadata metadata, InputStream content);
 
     /**
      * Deletes a certificate by its unique identifier.
@@ -49,6 +72,16 @@ public interface CertStore {
      */
     List<CertMetadata> queryMetadata(QuerySpec querySpec);
 
+    /**
+     * Queries certificate metadata with keyset pagination. The offset of the query specification is ignored, instead
+     * the page starts after the position encoded in the cursor, so that deep pages cost as much as the first one.
+     *
+     * @param querySpec the query specification
+     * @param cursor    the cursor returned with the previous page, or null for the first page
+     * @return the page of certificate metadata matching the query
+     */
+    MetadataPage queryMetadata(QuerySpec querySpec, @Nullable String cursor);
+
     /**
      * Retrieves the metadata of a certificate by its unique identifier.
      *
@@ -58,15 +91,115 @@ public interface CertStore {
     CertMetadata getMetadata(String id);
 
     /**
-     * Retrieves the certificate data as an input stream by its unique identifier.
+     * Writes the certificate data to the given output stream. The content is streamed from the storage while it is
+     * written, so callers must not hold locks or transactions open longer than needed around this call.
      *
-     * @param id the unique identifier of the certificate
-     * @return the input stream of the certificate data
+     * @param id     the unique identifier of the certificate
+     * @param output the stream the content is written to, it is not closed
+     * @return true if the certificate was found, false otherwise
      */
-    InputStream retrieve(String id);
+    boolean retrieve(String id, OutputStream output);
 
     /**
      * Overwrites the metadata for a given certificate with the provided metadata.
      */
     void updateMetadata(String id, CertMetadata metadata);
+
+    /**
+     * Returns the changes after the given position of the change feed, oldest first.
+     *
+     * @param since the cursor of the previous page, or 0 to read the feed from its start
+     * @param limit the maximum number of changes to read
+     * @return the page of changes
+     * @throws ChangesPrunedException if changes after the cursor have been pruned
+     */
+    ChangePage changes(long since, int limit);
+
+    /**
+     * Returns the position of the latest change in the change feed, or 0 if there has been none.
+     */
+    long latestChange();
+
+    /**
+     * Runs a batch of writes in one transaction and records their changes in the change feed in one step at the end of
+     * the batch. Changes are appended under a lock that is held until the transaction commits, so a batch that recorded
+     * each write as it goes would block every other writer for as long as the batch runs. A batch started within a
+     * transaction joins it.
+     * <p>
+     * Writes that have to commit together are grouped in a batch rather than in a transaction of the caller, because
+     * decorators such as {@link CachingCertStore} act on the written certificates once the batch has returned, and
+     * cannot observe when a transaction of the caller commits.
+     *
+     * @param batch the writes
+     * @return the result of the batch
+     */
+    default <T> T batch(Supplier<T> batch) {
+        return batch.get();
+    }
+
+    /**
+     * Deletes the changes recorded before the given time from the change feed. The latest change is always kept, so
+     * the position of the feed never goes back. Readers whose cursor lies before a pruned change are answered with a
+     * {@link ChangesPrunedException} from then on.
+     *
+     * @param before the time in epoch seconds before which changes are deleted
+     * @return the number of deleted changes
+     */
+    int pruneChanges(long before);
+
+    /**
+     * Looks up a certificate and provides its metadata and content to the handler. Implementations should fetch both
+     * with a single statement; the default implementation falls back to {@link #getMetadata(String)} and
+     * {@link #retrieve(String, OutputStream)}. The content is only available while the handler runs.
+     *
+     * @param id      the unique identifier of the certificate
+     * @param handler receives the metadata and the content
+     * @return true if the certificate was found, false otherwise
+     */
+    default boolean download(String id, DownloadHandler handler) {
+        var metadata = getMetadata(id);
+        if (metadata == null) {
+            return false;
+        }
+        try {
+            handler.handle(metadata, output -> retrieve(id, output));
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+        return true;
+    }
+
+    /**
+     * Receives a certificate found by {@link #download(String, DownloadHandler)}.
+     */
+    @FunctionalInterface
+    interface DownloadHandler {
+        void handle(CertMetadata metadata, Content content) throws IOException;
+    }
+
+    /**
+     * The content of a certificate, which can be written once, either decoded or as stored.
+     */
+    @FunctionalInterface
+    interface Content {
+        /**
+         * Writes the content as it was uploaded.
+         */
+        void writeTo(OutputStream output) throws IOException;
+
+        /**
+         * Returns the content coding the content is stored with, e.g. gzip, or null if it is stored as is.
+         */
+        @Nullable
+        default String encoding() {
+            return null;
+        }
+
+        /**
+         * Writes the content as stored, in the coding returned by {@link #encoding()}, without decoding it.
+         */
+        default void writeEncodedTo(OutputStream output) throws IOException {
+            writeTo(output);
+        }
+    }
 }
@@ -0,0 +1,26 @@
+/*
+ *  Copyright (c) 2025 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store;
+
+import org.eclipse.edc.spi.EdcException;
+
+/**
+ * Thrown if changes after the cursor of a reader have been pruned from the change feed. The reader has missed them and
+ * must resync with a full query.
+ */
+public class ChangesPrunedException extends EdcException {
+    public ChangesPrunedException(long since, long prunedThrough) {
+        super("Changes after %d have been pruned from the change feed up to %d, resync with a full query".formatted(since, prunedThrough));
+    }
+}
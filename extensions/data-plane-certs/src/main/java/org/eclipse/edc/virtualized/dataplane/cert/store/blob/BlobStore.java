@@ -0,0 +1,48 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.blob;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Content-addressed storage for certificate content. Content is stored under the hex-encoded SHA-256 hash of its bytes,
+ * so storing the same content twice yields the same key and keeps a single copy.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores the content read from the stream.
+     *
+     * @param content the content, the stream is read to its end but not closed
+     * @return the key under which the content is stored
+     */
+    String put(InputStream content);
+
+    /**
+     * Writes the content stored under the given key to the output stream.
+     *
+     * @param key    the key returned by {@link #put(InputStream)}
+     * @param output the stream the content is written to, it is not closed
+     * @return true if the content was found, false otherwise
+     */
+    boolean get(String key, OutputStream output);
+
+    /**
+     * Deletes the content stored under the given key. Deleting content that does not exist is not an error.
+     *
+     * @param key the key returned by {@link #put(InputStream)}
+     */
+    void delete(String key);
+}
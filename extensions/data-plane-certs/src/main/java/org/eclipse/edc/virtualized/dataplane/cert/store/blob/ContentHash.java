@@ -0,0 +1,62 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.blob;
+
+import org.eclipse.edc.spi.EdcException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Spools content to a temporary file while computing its SHA-256 hash, which is needed both as the content address and
+ * before the content can be uploaded with a known length.
+ *
+ * @param file the temporary file, to be deleted by the caller
+ * @param hash the hex-encoded SHA-256 hash of the content
+ * @param size the size of the content in bytes
+ */
+record ContentHash(Path file, String hash, long size) {
+
+    static ContentHash spool(InputStream content, Path directory) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(directory, "cert-", ".tmp");
+            var digest = MessageDigest.getInstance("SHA-256");
+            try (var out = Files.newOutputStream(file)) {
+                var size = new DigestInputStream(content, digest).transferTo(out);
+                return new ContentHash(file, HexFormat.of().formatHex(digest.digest()), size);
+            }
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(file);
+            throw new EdcException("Failed to spool certificate content: " + e.getMessage(), e);
+        }
+    }
+
+    static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // temporary files are cleaned up eventually
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.blob;
+
+import org.eclipse.edc.spi.EdcException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores content as files below a root directory, in a two-level fan-out by hash prefix. Reads use
+ * {@link FileChannel#transferTo} or a memory mapping of the file. The target is a stream, such as the servlet output,
+ * so the bytes still pass through a heap buffer of the channel wrapping it. This is not a zero-copy transfer, but it
+ * avoids an intermediate buffer of the whole content.
+ */
+public class FileSystemBlobStore implements BlobStore {
+    private final Path root;
+    private final Path tempDirectory;
+    private final boolean memoryMapped;
+
+    public FileSystemBlobStore(Path root, boolean memoryMapped) {
+        this.root = root;
+        this.tempDirectory = root.resolve("tmp");
+        this.memoryMapped = memoryMapped;
+        try {
+            Files.createDirectories(tempDirectory);
+        } catch (IOException e) {
+            throw new EdcException("Cannot create certificate content directory " + root, e);
+        }
+    }
+
+    @Override
+    public String put(InputStream content) {
+        // the temp directory is on the same file system as the blobs, so the final move is atomic
+        var spooled = ContentHash.spool(content, tempDirectory);
+        try {
+            var target = pathOf(spooled.hash());
+            Files.createDirectories(target.getParent());
+            Files.move(spooled.file(), target, StandardCopyOption.ATOMIC_MOVE);
+            return spooled.hash();
+        } catch (FileAlreadyExistsException e) {
+            // identical content is already stored
+            return spooled.hash();
+        } catch (IOException e) {
+            throw new EdcException("Failed to store certificate content: " + e.getMessage(), e);
+        } finally {
+            ContentHash.deleteQuietly(spooled.file());
+        }
+    }
+
+    @Override
+    public boolean get(String key, OutputStream output) {
+        try (var channel = FileChannel.open(pathOf(key))) {
+            var target = Channels.newChannel(output);
+            var size = channel.size();
+            if (memoryMapped) {
+                var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+            } else {
+                var position = 0L;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new EdcException("Failed to read certificate content: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(pathOf(key));
+        } catch (IOException e) {
+            throw new EdcException("Failed to delete certificate content: " + e.getMessage(), e);
+        }
+    }
+
+    private Path pathOf(String key) {
+        if (!key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid content key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.blob;
+
+import org.eclipse.edc.spi.EdcException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Stores content in an S3-compatible object store, such as AWS S3 or MinIO. Objects are addressed path-style and
+ * requests are signed with AWS Signature Version 4. The SHA-256 hash that serves as content address doubles as the
+ * signed payload hash, so uploads are fully signed without reading the content twice.
+ */
+public class S3BlobStore implements BlobStore {
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String EMPTY_PAYLOAD_HASH = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String bucket;
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+    private final Clock clock;
+    private final Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+    public S3BlobStore(HttpClient httpClient, URI endpoint, String bucket, String region, String accessKey, String secretKey, Clock clock) {
+        this.httpClient = httpClient;
+        this.endpoint = endpoint;
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.clock = clock;
+    }
+
+    @Override
+    public String put(InputStream content) {
+        var spooled = ContentHash.spool(content, tempDirectory);
+        try {
+            var request = signed("PUT", spooled.hash(), spooled.hash())
+                    .PUT(HttpRequest.BodyPublishers.ofFile(spooled.file()))
+                    .build();
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new EdcException("Failed to store certificate content, S3 responded with %d: %s".formatted(response.statusCode(), response.body()));
+            }
+            return spooled.hash();
+        } catch (IOException e) {
+            throw new EdcException("Failed to store certificate content: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EdcException(e);
+        } finally {
+            ContentHash.deleteQuietly(spooled.file());
+        }
+    }
+
+    @Override
+    public boolean get(String key, OutputStream output) {
+        try {
+            var request = signed("GET", key, EMPTY_PAYLOAD_HASH).GET().build();
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (var body = response.body()) {
+                if (response.statusCode() == 404) {
+                    return false;
+                }
+                if (response.statusCode() / 100 != 2) {
+                    throw new EdcException("Failed to read certificate content, S3 responded with %d".formatted(response.statusCode()));
+                }
+                body.transferTo(output);
+                return true;
+            }
+        } catch (IOException e) {
+            throw new EdcException("Failed to read certificate content: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EdcException(e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            var request = signed("DELETE", key, EMPTY_PAYLOAD_HASH).DELETE().build();
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2 && response.statusCode() != 404) {
+                throw new EdcException("Failed to delete certificate content, S3 responded with %d".formatted(response.statusCode()));
+            }
+        } catch (IOException e) {
+            throw new EdcException("Failed to delete certificate content: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EdcException(e);
+        }
+    }
+
+    private HttpRequest.Builder signed(String method, String key, String payloadHash) {
+        if (!key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid content key: " + key);
+        }
+        var amzDate = AMZ_DATE.format(clock.instant());
+        var path = "/" + bucket + "/" + key;
+        var host = endpoint.getPort() == -1 ? endpoint.getHost() : endpoint.getHost() + ":" + endpoint.getPort();
+
+        var signedHeaders = "host;x-amz-content-sha256;x-amz-date";
+        var canonicalRequest = String.join("\n",
+                method,
+                path,
+                "",
+                "host:" + host,
+                "x-amz-content-sha256:" + payloadHash,
+                "x-amz-date:" + amzDate,
+                "",
+                signedHeaders,
+                payloadHash);
+        var signature = signature(secretKey, region, amzDate, canonicalRequest);
+
+        return HttpRequest.newBuilder(endpoint.resolve(path))
+                .header("x-amz-content-sha256", payloadHash)
+                .header("x-amz-date", amzDate)
+                .header("Authorization", "%s Credential=%s/%s, SignedHeaders=%s, Signature=%s".formatted(ALGORITHM, accessKey, scope(region, amzDate), signedHeaders, signature));
+    }
+
+    /**
+     * Signs a canonical request with AWS Signature Version 4 for the S3 service.
+     *
+     * @param amzDate          the request time in the {@code x-amz-date} format
+     * @param canonicalRequest the canonical request, as specified by AWS
+     * @return the hex-encoded signature
+     */
+    static String signature(String secretKey, String region, String amzDate, String canonicalRequest) {
+        var dateStamp = amzDate.substring(0, 8);
+        var stringToSign = String.join("\n", ALGORITHM, amzDate, scope(region, amzDate), sha256Hex(canonicalRequest));
+
+        var signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, "s3");
+        signingKey = hmac(signingKey, "aws4_request");
+        return HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+    }
+
+    private static String scope(String region, String amzDate) {
+        return amzDate.substring(0, 8) + "/" + region + "/s3/aws4_request";
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            var mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new EdcException(e);
+        }
+    }
+}
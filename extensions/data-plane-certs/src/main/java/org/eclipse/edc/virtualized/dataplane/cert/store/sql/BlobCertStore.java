@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.sql.QueryExecutor;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertChange;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.eclipse.edc.virtualized.dataplane.cert.store.blob.BlobStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@link SqlCertStore} that keeps the metadata in Postgres and the content in a {@link BlobStore}. The row only holds
+ * the key of the content, so binaries no longer bloat the WAL, backups and vacuum. Content is shared between
+ * certificates with identical bytes and deleted with the last certificate referencing it.
+ * <p>
+ * References on blobs are counted in {@code edc_cert_content} under the key {@code blob:<content key>}, like shared
+ * content stored in the database. Uploads hold a shared advisory lock until they commit, and released blobs are only
+ * deleted under the exclusive lock by {@link #deleteReleasedBlobs()}, which runs periodically in its own transaction. A blob
+ * is thus only deleted once the release of its last reference has committed, and a blob that is being stored again
+ * concurrently is never deleted.
+ */
+public class BlobCertStore extends SqlCertStore {
+    /**
+     * Prefix of the {@code edc_cert_content} keys of blobs, which keeps them apart from content stored in the database.
+     */
+    static final String BLOB_KEY_PREFIX = "blob:";
+    /**
+     * Key of the advisory lock that separates uploads from the deletion of released blobs.
+     */
+    private static final long BLOB_LOCK = 0x6564635f626c6f62L;
+
+    private final BlobStore blobStore;
+
+    public BlobCertStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext, ObjectMapper objectMapper, QueryExecutor queryExecutor,
+                         BlobStore blobStore) {
+        this(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor, blobStore, null);
+    }
+
+    public BlobCertStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext, ObjectMapper objectMapper, QueryExecutor queryExecutor,
+                         BlobStore blobStore, @Nullable ReplicaRouting replica) {
+        super(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor, DEFAULT_CHUNK_SIZE, replica);
+        this.blobStore = blobStore;
+    }
+
+    @Override
+    public CertMetadata store(String id, CertMetadata metadata, InputStream content) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                // the content is written first, an orphaned blob is harmless while a row without content is not
+                queryExecutor.query(connection, false, rs -> true, "SELECT pg_advisory_xact_lock_shared(?)", BLOB_LOCK).findFirst();
+                var capture = x509Extractor.capture(content);
+                var contentRef = blobStore.put(capture);
+                queryExecutor.execute(connection, "INSERT INTO edc_cert_content (hash, ref_count, size) VALUES (?, 1, ?) " +
+                        "ON CONFLICT (hash) DO UPDATE SET ref_count = edc_cert_content.ref_count + 1", BLOB_KEY_PREFIX + contentRef, capture.size());
+                // blob keys are SHA-256 hashes of the content
+                var stored = metadata.withContentHash(contentRef).withX509(capture.extract());
+                insertCertificate(connection, stored, null, contentRef);
+                recordChange(connection, id, CertChange.UPSERT);
+                return stored;
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    protected void releaseReference(Connection connection, String contentRef) {
+        queryExecutor.execute(connection, "UPDATE edc_cert_content SET ref_count = ref_count - 1 WHERE hash = ?", BLOB_KEY_PREFIX + contentRef);
+    }
+
+    @Override
+    protected void transferReference(String contentRef, OutputStream output) throws IOException {
+        if (!blobStore.get(contentRef, output)) {
+            throw new EdcException("Content '%s' not found in the content store".formatted(contentRef));
+        }
+    }
+
+    /**
+     * Deletes the blobs without references. If uploads are in progress, the blobs are left to a later deletion rather
+     * than waiting for the uploads. A blob is deleted before its row, so that a failed deletion is retried. Must not be
+     * called within a transaction that releases references, which would delete blobs before the release commits.
+     *
+     * @return the number of deleted blobs
+     */
+    public int deleteReleasedBlobs() {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var locked = queryExecutor.query(connection, false, rs -> rs.getBoolean(1), "SELECT pg_try_advisory_xact_lock(?)", BLOB_LOCK)
+                        .findFirst()
+                        .orElse(false);
+                if (!locked) {
+                    return 0;
+                }
+                var released = queryExecutor.query(connection, false, rs -> rs.getString("hash"),
+                                "SELECT hash FROM edc_cert_content WHERE ref_count <= 0 AND hash LIKE ? FOR UPDATE", BLOB_KEY_PREFIX + "%")
+                        .toList();
+                for (var key : released) {
+                    blobStore.delete(key.substring(BLOB_KEY_PREFIX.length()));
+                    queryExecutor.execute(connection, "DELETE FROM edc_cert_content WHERE hash = ?", key);
+                }
+                return released.size();
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+}
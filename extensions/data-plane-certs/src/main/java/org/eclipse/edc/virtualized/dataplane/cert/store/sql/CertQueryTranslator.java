@@ -0,0 +1,291 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.sql;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Translates the filter and sort order of a {@link QuerySpec} on {@code CertMetadata} into SQL on {@code edc_certs}.
+ * Left operands are dot-separated paths into the metadata, e.g. {@code properties.issuer.name}, except {@code id} and
+ * the {@code x509} fields, which map to their own indexed columns. The validity of a certificate is compared in epoch
+ * seconds, ISO-8601 instants are accepted as well.
+ * <p>
+ * Equality and {@code in} are expressed as JSONB containment, which is answered by the GIN index on the metadata.
+ * The other operators compare the extracted text, or its numeric value if the right operand is a number, and can be
+ * answered by expression indexes on frequently queried paths. Sorting and keyset paging use the plain expression of the
+ * path or column, and are answered by a B-tree index on that expression and the id.
+ */
+class CertQueryTranslator {
+    private static final Pattern SEGMENT = Pattern.compile("[A-Za-z0-9_:@$\\-]+");
+    private static final Map<String, Column> COLUMNS = Map.of(
+            "id", new Column("id", false),
+            "x509.subject", new Column("x509_subject", false),
+            "x509.issuer", new Column("x509_issuer", false),
+            "x509.serialNumber", new Column("x509_serial", false),
+            "x509.fingerprint", new Column("x509_fingerprint", false),
+            "x509.notBefore", new Column("x509_not_before", true),
+            "x509.notAfter", new Column("x509_not_after", true)
+    );
+
+    private final ObjectMapper objectMapper;
+
+    CertQueryTranslator(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Translates the filter expressions into a WHERE clause.
+     *
+     * @return the conditions, joined with AND, or "TRUE" if there are none
+     */
+    Clause where(QuerySpec querySpec) {
+        var conditions = new ArrayList<String>();
+        var parameters = new ArrayList<Object>();
+        for (var criterion : querySpec.getFilterExpression()) {
+            conditions.add(condition(criterion, parameters));
+        }
+        return new Clause(conditions.isEmpty() ? "TRUE" : String.join(" AND ", conditions), parameters);
+    }
+
+    /**
+     * Returns the expression by which results are sorted, the id is always the final tie-breaker. The expression is
+     * the plain column or path expression, so that it matches an index on exactly that expression.
+     */
+    String sortExpression(QuerySpec querySpec) {
+        var sortField = querySpec.getSortField();
+        if (sortField == null || "id".equals(sortField)) {
+            return "id";
+        }
+        var column = COLUMNS.get(sortField);
+        if (column != null) {
+            return column.name();
+        }
+        return textExpression(sortField);
+    }
+
+    /**
+     * Returns the ORDER BY clause. Missing values sort as the largest ones, last in ascending and first in descending
+     * order, which is the order of a B-tree index on the sort expression and the id, scanned forward or backward.
+     */
+    String orderBy(QuerySpec querySpec) {
+        var descending = querySpec.getSortOrder() == SortOrder.DESC;
+        var direction = descending ? "DESC" : "ASC";
+        var sortExpression = sortExpression(querySpec);
+        if ("id".equals(sortExpression)) {
+            return "id " + direction;
+        }
+        return sortExpression + " " + direction + (descending ? " NULLS FIRST" : " NULLS LAST") + ", id " + direction;
+    }
+
+    /**
+     * Returns the keyset conditions that select the rows after the given position in the sort order. The rows are
+     * split into consecutive ranges at the boundary between missing and present values, so that every range is a
+     * single index range; the rows of a range follow all rows of the ranges before it.
+     *
+     * @param sortValue the sort value of the last row, null if the value is missing
+     * @param id        the id of the last row
+     * @return the conditions of the ranges, in sort order
+     */
+    List<Clause> after(QuerySpec querySpec, @Nullable String sortValue, String id) {
+        var descending = querySpec.getSortOrder() == SortOrder.DESC;
+        var comparison = descending ? "<" : ">";
+        var sortExpression = sortExpression(querySpec);
+        if ("id".equals(sortExpression)) {
+            return List.of(new Clause("id " + comparison + " ?", List.of(id)));
+        }
+        if (sortValue == null) {
+            var missing = new Clause(sortExpression + " IS NULL AND id " + comparison + " ?", List.of(id));
+            // descending, the present values follow the missing ones
+            return descending ? List.of(missing, new Clause(sortExpression + " IS NOT NULL", List.of())) : List.of(missing);
+        }
+        var column = COLUMNS.get(querySpec.getSortField());
+        Object value = column != null && column.numeric() ? epochSeconds(sortValue) : sortValue;
+        var present = new Clause("(" + sortExpression + ", id) " + comparison + " (?, ?)", List.of(value, id));
+        // ascending, the missing values follow the present ones
+        return descending ? List.of(present) : List.of(present, new Clause(sortExpression + " IS NULL", List.of()));
+    }
+
+    private String condition(Criterion criterion, List<Object> parameters) {
+        var path = String.valueOf(criterion.getOperandLeft());
+        var operator = criterion.getOperator().toLowerCase(Locale.ROOT);
+        var right = criterion.getOperandRight();
+
+        var column = COLUMNS.get(path);
+        if (column != null) {
+            return columnCondition(column, operator, right, parameters);
+        }
+        return switch (operator) {
+            case "=" -> {
+                parameters.add(containment(path, right));
+                yield "metadata @> ?::jsonb";
+            }
+            case "in" -> {
+                var values = values(right);
+                if (values.isEmpty()) {
+                    yield "FALSE";
+                }
+                var alternatives = new ArrayList<String>();
+                for (var value : values) {
+                    parameters.add(containment(path, value));
+                    alternatives.add("metadata @> ?::jsonb");
+                }
+                yield "(" + String.join(" OR ", alternatives) + ")";
+            }
+            case "!=" -> {
+                parameters.add(String.valueOf(right));
+                yield textExpression(path) + " IS DISTINCT FROM ?";
+            }
+            case "like", "ilike" -> {
+                parameters.add(String.valueOf(right));
+                yield textExpression(path) + " " + operator.toUpperCase(Locale.ROOT) + " ?";
+            }
+            case "<", "<=", ">", ">=" -> {
+                parameters.add(right instanceof Number ? right : String.valueOf(right));
+                var expression = right instanceof Number ? numericExpression(path) : textExpression(path);
+                yield expression + " " + operator + " ?";
+            }
+            default -> throw new InvalidRequestException("Unsupported operator '%s' in certificate query".formatted(criterion.getOperator()));
+        };
+    }
+
+    private String columnCondition(Column column, String operator, Object right, List<Object> parameters) {
+        return switch (operator) {
+            case "=", "!=", "<", "<=", ">", ">=" -> {
+                parameters.add(column.value(right));
+                yield column.name() + " " + operator + " ?";
+            }
+            case "like", "ilike" -> {
+                if (column.numeric()) {
+                    throw new InvalidRequestException("Operator '%s' is not supported for numeric fields".formatted(operator));
+                }
+                parameters.add(String.valueOf(right));
+                yield column.name() + " " + operator.toUpperCase(Locale.ROOT) + " ?";
+            }
+            case "in" -> {
+                var values = values(right);
+                if (values.isEmpty()) {
+                    yield "FALSE";
+                }
+                values.forEach(value -> parameters.add(column.value(value)));
+                yield column.name() + " IN (" + String.join(", ", values.stream().map(v -> "?").toList()) + ")";
+            }
+            default -> throw new InvalidRequestException("Unsupported operator '%s' in certificate query".formatted(operator));
+        };
+    }
+
+    private static long epochSeconds(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        var text = String.valueOf(value);
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                return Instant.parse(text).getEpochSecond();
+            } catch (DateTimeParseException ex) {
+                throw new InvalidRequestException("Invalid time '%s' in certificate query, expected epoch seconds or an ISO-8601 instant".formatted(text));
+            }
+        }
+    }
+
+    /**
+     * Returns the SQL expression extracting the value at the path as text. The path is inlined rather than bound, so
+     * that the expression matches expression indexes; every segment is validated for that reason.
+     */
+    private String textExpression(String path) {
+        var segments = segments(path);
+        if (segments.size() == 1) {
+            return "(metadata ->> '" + segments.get(0) + "')";
+        }
+        return "(metadata #>> '{" + String.join(",", segments) + "}')";
+    }
+
+    /**
+     * Returns the SQL expression extracting the value at the path as a number, or NULL if it is not a JSON number, so
+     * that certificates with other values at the path do not match instead of failing the query.
+     */
+    private String numericExpression(String path) {
+        var segments = segments(path);
+        var json = segments.size() == 1 ? "(metadata -> '" + segments.get(0) + "')" : "(metadata #> '{" + String.join(",", segments) + "}')";
+        return "(CASE WHEN jsonb_typeof" + json + " = 'number' THEN " + textExpression(path) + "::numeric END)";
+    }
+
+    private String containment(String path, @Nullable Object value) {
+        var segments = segments(path);
+        Object document = value;
+        for (var i = segments.size() - 1; i >= 0; i--) {
+            var level = new LinkedHashMap<String, Object>();
+            level.put(segments.get(i), document);
+            document = level;
+        }
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Invalid value in certificate query: " + e.getMessage());
+        }
+    }
+
+    private List<String> segments(String path) {
+        var segments = Arrays.asList(path.split("\\."));
+        for (var segment : segments) {
+            if (!SEGMENT.matcher(segment).matches()) {
+                throw new InvalidRequestException("Invalid property path '%s' in certificate query".formatted(path));
+            }
+        }
+        return segments;
+    }
+
+    private List<?> values(Object right) {
+        if (right instanceof Collection<?> collection) {
+            return List.copyOf(collection);
+        }
+        if (right instanceof Object[] array) {
+            return List.of(array);
+        }
+        return List.of(right);
+    }
+
+    /**
+     * A field stored in its own column.
+     */
+    private record Column(String name, boolean numeric) {
+        Object value(Object operand) {
+            return numeric ? epochSeconds(operand) : String.valueOf(operand);
+        }
+    }
+
+    /**
+     * A fragment of SQL along with the values of its placeholders.
+     */
+    record Clause(String sql, List<Object> parameters) {
+    }
+}
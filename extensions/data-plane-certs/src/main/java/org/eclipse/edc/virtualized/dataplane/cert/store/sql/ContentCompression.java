@@ -0,0 +1,53 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.sql;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Decides which certificate content is compressed when it is stored. Text formats such as PEM bundles shrink
+ * considerably, while formats that are compressed already, such as PDF or PKCS#12, do not and are stored as is.
+ *
+ * @param enabled    whether content is compressed at all
+ * @param mediaTypes the media types (without parameters) that are compressed, {@code type/*} matches all subtypes
+ */
+public record ContentCompression(boolean enabled, Set<String> mediaTypes) {
+    public static final String GZIP = "gzip";
+
+    public static ContentCompression disabled() {
+        return new ContentCompression(false, Set.of());
+    }
+
+    /**
+     * Returns the content coding to store content of the given type with.
+     *
+     * @return gzip, or null if the content is stored as is
+     */
+    @Nullable
+    public String encodingFor(@Nullable String contentType) {
+        if (!enabled || contentType == null) {
+            return null;
+        }
+        var mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        var slash = mediaType.indexOf('/');
+        if (slash <= 0) {
+            return null;
+        }
+        var compressible = mediaTypes.contains(mediaType) || mediaTypes.contains(mediaType.substring(0, slash) + "/*");
+        return compressible ? GZIP : null;
+    }
+}
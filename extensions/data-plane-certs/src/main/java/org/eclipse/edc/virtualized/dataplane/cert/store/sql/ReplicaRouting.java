@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.sql;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether read-only statements of a {@link SqlCertStore} may go to a read replica. Reads stay on the primary
+ * while the replica lags more than allowed, and after each write through the store until the write can be expected on
+ * the replica, so that the writer reads its own writes. The lag is probed at most once per check interval.
+ */
+public class ReplicaRouting {
+    /**
+     * Lag of a Postgres standby in milliseconds. A standby that has replayed everything it received is not lagging, even
+     * if the last replayed transaction is old; a server that is not a standby reports no lag.
+     */
+    static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() IS NULL OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END AS lag_millis";
+
+    private final String dataSourceName;
+    private final long maxLagMillis;
+    private final long readYourWritesMillis;
+    private final long lagCheckIntervalMillis;
+    private final Clock clock;
+    private volatile long lastWrite = Long.MIN_VALUE;
+    private volatile long lagCheckedAt = Long.MIN_VALUE;
+    private volatile long lagMillis;
+
+    /**
+     * Creates the routing for a replica.
+     *
+     * @param dataSourceName   the datasource of the replica
+     * @param maxLag           the lag above which reads go to the primary
+     * @param readYourWrites   the minimum time reads go to the primary after a write
+     * @param lagCheckInterval the time after which the lag of the replica is probed again
+     * @param clock            the clock
+     */
+    public ReplicaRouting(String dataSourceName, Duration maxLag, Duration readYourWrites, Duration lagCheckInterval, Clock clock) {
+        this.dataSourceName = dataSourceName;
+        this.maxLagMillis = maxLag.toMillis();
+        this.readYourWritesMillis = readYourWrites.toMillis();
+        this.lagCheckIntervalMillis = lagCheckInterval.toMillis();
+        this.clock = clock;
+    }
+
+    public String dataSourceName() {
+        return dataSourceName;
+    }
+
+    /**
+     * Records that the store has written to the primary.
+     */
+    public void written() {
+        lastWrite = clock.millis();
+    }
+
+    /**
+     * Returns whether the next read may go to the replica.
+     *
+     * @param lagProbe measures the current lag of the replica in milliseconds, called when the last measurement is older
+     *                 than the check interval
+     */
+    public boolean useReplica(LongSupplier lagProbe) {
+        var now = clock.millis();
+        if (now >= lagCheckedAt + lagCheckIntervalMillis) {
+            lagMillis = lagProbe.getAsLong();
+            lagCheckedAt = now;
+        }
+        var lag = lagMillis;
+        if (lag > maxLagMillis) {
+            return false;
+        }
+        // a write is visible on the replica once the replica has caught up to it, the window only adds a margin
+        return now >= lastWrite + Math.max(readYourWritesMillis, lag);
+    }
+}
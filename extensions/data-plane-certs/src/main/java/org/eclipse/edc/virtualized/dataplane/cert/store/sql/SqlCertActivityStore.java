@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.sql.QueryExecutor;
+import org.eclipse.edc.sql.store.AbstractSqlStore;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ActivityItem;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ActivityPage;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertActivityStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SqlCertActivityStore extends AbstractSqlStore implements CertActivityStore {
+
+    public SqlCertActivityStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext, ObjectMapper objectMapper, QueryExecutor queryExecutor) {
+        super(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor);
+    }
+
+    @Override
+    public void append(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        transactionContext.execute(() -> {
+            try (var connection = getConnection();
+                 var ps = connection.prepareStatement("INSERT INTO edc_cert_activity (cert_id, counter_party, timestamp_epoch, action) VALUES (?, ?, ?, ?)")) {
+                for (var entry : entries) {
+                    ps.setString(1, entry.certId());
+                    ps.setString(2, entry.item().counterParty());
+                    ps.setLong(3, entry.item().timestampEpoch());
+                    ps.setString(4, entry.item().action());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public ActivityPage history(String certId, @Nullable Long before, int limit) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection();
+                 var ps = connection.prepareStatement("SELECT id, counter_party, timestamp_epoch, action FROM edc_cert_activity " +
+                         "WHERE cert_id = ? AND (?::bigint IS NULL OR id < ?) ORDER BY id DESC LIMIT ?")) {
+                ps.setString(1, certId);
+                if (before == null) {
+                    ps.setNull(2, Types.BIGINT);
+                    ps.setNull(3, Types.BIGINT);
+                } else {
+                    ps.setLong(2, before);
+                    ps.setLong(3, before);
+                }
+                // one more row than requested tells whether there is a next page
+                ps.setInt(4, limit + 1);
+                var items = new ArrayList<ActivityItem>();
+                Long nextCursor = null;
+                var lastId = 0L;
+                try (var rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if (items.size() == limit) {
+                            nextCursor = lastId;
+                            break;
+                        }
+                        lastId = rs.getLong("id");
+                        items.add(new ActivityItem(rs.getString("counter_party"), rs.getLong("timestamp_epoch"), rs.getString("action")));
+                    }
+                }
+                return new ActivityPage(items, nextCursor);
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+}
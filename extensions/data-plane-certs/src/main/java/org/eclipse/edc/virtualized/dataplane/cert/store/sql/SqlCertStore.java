@@ -19,66 +19,321 @@ import org.eclipse.edc.spi.EdcException;
 import org.eclipse.edc.spi.query.QuerySpec;
 import org.eclipse.edc.sql.QueryExecutor;
 import org.eclipse.edc.sql.store.AbstractSqlStore;
-import org.eclipse.edc.sql.translation.SqlQueryStatement;
 import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
 import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertChange;
 import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.eclipse.edc.virtualized.dataplane.cert.model.ChangePage;
+import org.eclipse.edc.virtualized.dataplane.cert.model.MetadataPage;
 import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
+import org.eclipse.edc.virtualized.dataplane.cert.store.ChangesPrunedException;
+import org.eclipse.edc.virtualized.dataplane.cert.x509.X509Extractor;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
 
+/**
+ * Postgres implementation of the {@link CertStore}. The content of a certificate is stored in
+ * {@code edc_cert_content_chunks}, split in chunks of a fixed size, so that neither upload nor download needs the whole
+ * content in memory. Content is stored once per SHA-256 hash and reference counted in {@code edc_cert_content}, gzip
+ * compressed if its content type benefits from it.
+ */
 public class SqlCertStore extends AbstractSqlStore implements CertStore {
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    /**
+     * Key of the advisory lock that serializes appends to the change feed.
+     */
+    private static final long CHANGE_FEED_LOCK = 0x6564635f63657274L;
+
+    /**
+     * Selects a certificate along with its content in one statement. The first row carries the metadata, the coding of
+     * shared content and the key of content stored outside the database, the following rows carry the content in order, from wherever it is stored:
+     * shared content by hash, the chunks of certificates stored before content was shared, or the data column of the
+     * first certificates.
+     */
+    private static final String FETCH_CERTIFICATE = "SELECT -1 AS seq, c.metadata::text AS metadata, e.encoding, c.content_ref, NULL::bytea AS data " +
+            "FROM edc_certs c LEFT JOIN edc_cert_content e ON e.hash = c.content_hash WHERE c.id = ? " +
+            "UNION ALL SELECT k.seq, NULL, NULL, NULL, k.data FROM edc_certs c JOIN edc_cert_content_chunks k ON k.hash = c.content_hash WHERE c.id = ? " +
+            "UNION ALL SELECT k.seq, NULL, NULL, NULL, k.data FROM edc_cert_chunks k WHERE k.cert_id = ? " +
+            "UNION ALL SELECT 0, NULL, NULL, NULL, c.data FROM edc_certs c WHERE c.id = ? AND c.data IS NOT NULL " +
+            "ORDER BY seq";
+
+    protected final X509Extractor x509Extractor = new X509Extractor(X509Extractor.DEFAULT_MAX_SIZE);
+    private final int chunkSize;
+    private final CertQueryTranslator queryTranslator;
+    private final DataSourceRegistry dataSourceRegistry;
+    private final @Nullable ReplicaRouting replica;
+    private final ContentCompression compression;
+    private final ThreadLocal<List<PendingChange>> pendingChanges = new ThreadLocal<>();
 
     public SqlCertStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext, ObjectMapper objectMapper, QueryExecutor queryExecutor) {
+        this(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor, DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqlCertStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext, ObjectMapper objectMapper, QueryExecutor queryExecutor, int chunkSize) {
+        this(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor, chunkSize, null);
+    }
+
+    /**
+     * Creates a store that sends read-only statements to a replica as far as the routing allows.
+     *
+     * @param replica the routing to the read replica, or null to read from the primary only
+     */
+    public SqlCertStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext, ObjectMapper objectMapper, QueryExecutor queryExecutor, int chunkSize,
+                        @Nullable ReplicaRouting replica) {
+        this(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor, chunkSize, replica, ContentCompression.disabled());
+    }
+
+    /**
+     * Creates a store that sends read-only statements to a replica as far as the routing allows, and compresses content
+     * as the compression decides.
+     *
+     * @param replica     the routing to the read replica, or null to read from the primary only
+     * @param compression decides which content is compressed when it is stored
+     */
+    public SqlCertStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext, ObjectMapper objectMapper, QueryExecutor queryExecutor, int chunkSize,
+                        @Nullable ReplicaRouting replica, ContentCompression compression) {
         super(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor);
+        this.chunkSize = chunkSize;
+        this.queryTranslator = new CertQueryTranslator(objectMapper);
+        this.dataSourceRegistry = dataSourceRegistry;
+        this.replica = replica;
+        this.compression = compression;
     }
 
+    /**
+     * Writes the content under a temporary key while hashing it, then either adopts the chunks under the hash or, if
+     * identical content is already stored, drops them and takes another reference on the existing content. Concurrent
+     * uploads of the same content serialize on the row of the hash. The hash is computed over the uploaded bytes, so
+     * content is shared regardless of how it is compressed, and the coding of the shared content is kept.
+     */
     @Override
-    public void store(String id, CertMetadata metadata, byte[] content) {
-        transactionContext.execute(() -> {
+    public CertMetadata store(String id, CertMetadata metadata, InputStream content) {
+        return transactionContext.execute(() -> {
             try (var connection = getConnection()) {
-                var stmt = "INSERT INTO edc_certs (id, metadata, data) VALUES (?, ?::jsonb, ?)";
-                var ps = connection.prepareStatement(stmt);
-                ps.setString(1, id);
-                ps.setString(2, toJson(metadata));
-                ps.setBytes(3, content);
-                ps.executeUpdate();
-            } catch (SQLException e) {
+                var pendingKey = "pending:" + id;
+                var digest = MessageDigest.getInstance("SHA-256");
+                var capture = x509Extractor.capture(content);
+                var encoding = compression.encodingFor(metadata.contentType());
+                var size = writeChunks(connection, pendingKey, new DigestInputStream(capture, digest), encoding);
+                var hash = HexFormat.of().formatHex(digest.digest());
+
+                var shared = queryExecutor.query(connection, false, rs -> new SharedContent(rs.getBoolean("inserted"), rs.getString("encoding")),
+                                "INSERT INTO edc_cert_content (hash, ref_count, size, encoding) VALUES (?, 1, ?, ?) " +
+                                        "ON CONFLICT (hash) DO UPDATE SET ref_count = edc_cert_content.ref_count + 1 RETURNING (xmax = 0) AS inserted, encoding",
+                                hash, size, encoding)
+                        .findFirst()
+                        .orElseThrow(() -> new EdcException("Failed to store the content of certificate " + id));
+                if (shared.inserted()) {
+                    queryExecutor.execute(connection, "UPDATE edc_cert_content_chunks SET hash = ? WHERE hash = ?", hash, pendingKey);
+                } else {
+                    queryExecutor.execute(connection, "DELETE FROM edc_cert_content_chunks WHERE hash = ?", pendingKey);
+                }
+
+                var stored = metadata.withContentHash(hash).withX509(capture.extract()).withContentEncoding(shared.encoding());
+                insertCertificate(connection, stored, hash, null);
+                recordChange(connection, id, CertChange.UPSERT);
+                return stored;
+            } catch (SQLException | IOException | NoSuchAlgorithmException e) {
                 throw new EdcException(e);
             }
         });
+    }
+
+    /**
+     * Inserts the row of a certificate. The X.509 fields are copied into their own indexed columns.
+     *
+     * @param contentHash the hash of the content stored in the database, or null
+     * @param contentRef  the key of the content stored outside the database, or null
+     */
+    protected void insertCertificate(Connection connection, CertMetadata metadata, @Nullable String contentHash, @Nullable String contentRef) {
+        var x509 = metadata.x509();
+        var stmt = "INSERT INTO edc_certs (id, metadata, content_hash, content_ref, x509_subject, x509_issuer, x509_serial, x509_fingerprint, x509_not_before, x509_not_after) " +
+                "VALUES (?, ?::jsonb, ?, ?, ?, ?, ?, ?, ?, ?)";
+        queryExecutor.execute(connection, stmt, metadata.id(), toJson(metadata), contentHash, contentRef,
+                x509 != null ? x509.subject() : null,
+                x509 != null ? x509.issuer() : null,
+                x509 != null ? x509.serialNumber() : null,
+                x509 != null ? x509.fingerprint() : null,
+                x509 != null ? x509.notBefore() : null,
+                x509 != null ? x509.notAfter() : null);
+    }
 
+    /**
+     * Inserts the content chunk by chunk, each chunk is sent to the database before the next one is read. Compressed
+     * content is split after compression, so the chunks hold the stored bytes.
+     *
+     * @param encoding the content coding to store the content with, or null to store it as is
+     * @return the size of the uploaded content in bytes
+     */
+    private long writeChunks(Connection connection, String key, InputStream content, @Nullable String encoding) throws SQLException, IOException {
+        try (var ps = connection.prepareStatement("INSERT INTO edc_cert_content_chunks (hash, seq, data) VALUES (?, ?, ?)")) {
+            var chunks = new ChunkOutputStream(ps, key, chunkSize);
+            try (var output = encoding != null ? encode(chunks, encoding) : chunks) {
+                return content.transferTo(output);
+            }
+        }
+    }
+
+    private static OutputStream encode(OutputStream output, String encoding) throws IOException {
+        if (ContentCompression.GZIP.equals(encoding)) {
+            return new GZIPOutputStream(output, 64 * 1024);
+        }
+        throw new EdcException("Unsupported content encoding: " + encoding);
+    }
+
+    private static InputStream decode(InputStream input, String encoding) throws IOException {
+        if (ContentCompression.GZIP.equals(encoding)) {
+            return new GZIPInputStream(input, 64 * 1024);
+        }
+        throw new EdcException("Unsupported content encoding: " + encoding);
     }
 
     @Override
     public void delete(String id) {
         transactionContext.execute(() -> {
             try (var connection = getConnection()) {
-                var stmt = "DELETE FROM edc_certs WHERE id = ?";
-                var ps = connection.prepareStatement(stmt);
-                ps.setString(1, id);
-                ps.executeUpdate();
+                var references = queryExecutor.query(connection, false, rs -> new String[]{ rs.getString("content_hash"), rs.getString("content_ref") },
+                                "DELETE FROM edc_certs WHERE id = ? RETURNING content_hash, content_ref", id)
+                        .findFirst()
+                        .orElse(null);
+                if (references == null) {
+                    return;
+                }
+                if (references[0] != null) {
+                    releaseContent(connection, references[0]);
+                }
+                if (references[1] != null) {
+                    releaseReference(connection, references[1]);
+                }
+                recordChange(connection, id, CertChange.DELETE);
             } catch (SQLException e) {
                 throw new EdcException(e);
             }
         });
     }
 
+    /**
+     * Drops a reference on content stored in the database, and the content itself with its last reference.
+     */
+    private void releaseContent(Connection connection, String hash) throws SQLException {
+        var remaining = queryExecutor.query(connection, false, rs -> rs.getInt("ref_count"),
+                        "UPDATE edc_cert_content SET ref_count = ref_count - 1 WHERE hash = ? RETURNING ref_count", hash)
+                .findFirst()
+                .orElse(0);
+        if (remaining <= 0) {
+            queryExecutor.execute(connection, "DELETE FROM edc_cert_content WHERE hash = ?", hash);
+            queryExecutor.execute(connection, "DELETE FROM edc_cert_content_chunks WHERE hash = ?", hash);
+        }
+    }
+
+    /**
+     * Releases content stored outside the database. The certificate row has already been deleted.
+     *
+     * @param connection the connection of the deleting transaction
+     * @param contentRef the key of the content
+     */
+    protected void releaseReference(Connection connection, String contentRef) throws SQLException {
+        // content is only stored outside the database by subclasses
+    }
+
     @Override
     public List<CertMetadata> queryMetadata(QuerySpec querySpec) {
         return transactionContext.execute(() -> {
-            try (var connection = getConnection()) {
-                var stmt = new SqlQueryStatement("SELECT metadata FROM edc_certs", querySpec.getLimit(), querySpec.getOffset());
-                return queryExecutor.query(connection, true, this::mapMetadata, stmt.getQueryAsString(), stmt.getParameters()).toList();
+            try (var connection = getReadConnection()) {
+                var where = queryTranslator.where(querySpec);
+                var stmt = "SELECT metadata FROM edc_certs WHERE %s ORDER BY %s LIMIT ? OFFSET ?".formatted(where.sql(), queryTranslator.orderBy(querySpec));
+                var parameters = new ArrayList<>(where.parameters());
+                parameters.add(querySpec.getLimit());
+                parameters.add(querySpec.getOffset());
+                return queryExecutor.query(connection, true, this::mapMetadata, stmt, parameters.toArray()).toList();
             } catch (SQLException e) {
                 throw new EdcException(e);
             }
         });
     }
 
+    @Override
+    public MetadataPage queryMetadata(QuerySpec querySpec, @Nullable String cursor) {
+        return transactionContext.execute(() -> {
+            try (var connection = getReadConnection()) {
+                var where = queryTranslator.where(querySpec);
+                List<CertQueryTranslator.Clause> ranges;
+                if (cursor != null) {
+                    var position = decodeCursor(cursor);
+                    ranges = queryTranslator.after(querySpec, position[0], position[1]);
+                } else {
+                    ranges = List.of(new CertQueryTranslator.Clause("TRUE", List.of()));
+                }
+                // one more row than requested tells whether there is a next page
+                var rows = new ArrayList<PageRow>();
+                for (var range : ranges) {
+                    if (rows.size() > querySpec.getLimit()) {
+                        break;
+                    }
+                    var stmt = "SELECT id, metadata, %s AS sort_value FROM edc_certs WHERE (%s) AND %s ORDER BY %s LIMIT ?"
+                            .formatted(queryTranslator.sortExpression(querySpec), where.sql(), range.sql(), queryTranslator.orderBy(querySpec));
+                    var parameters = new ArrayList<>(where.parameters());
+                    parameters.addAll(range.parameters());
+                    parameters.add(querySpec.getLimit() + 1 - rows.size());
+                    rows.addAll(queryExecutor.query(connection, true, this::mapRow, stmt, parameters.toArray()).toList());
+                }
+
+                var items = rows.stream().limit(querySpec.getLimit()).map(PageRow::metadata).toList();
+                String nextCursor = null;
+                if (rows.size() > querySpec.getLimit()) {
+                    var last = rows.get(querySpec.getLimit() - 1);
+                    nextCursor = encodeCursor(last.sortValue(), last.id());
+                }
+                return new MetadataPage(items, nextCursor);
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    private PageRow mapRow(ResultSet resultSet) throws SQLException {
+        return new PageRow(resultSet.getString("id"), mapMetadata(resultSet), resultSet.getString("sort_value"));
+    }
+
+    private String encodeCursor(String sortValue, String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(toJson(new String[]{ sortValue, id }).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            var position = fromJson(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8), String[].class);
+            if (position == null || position.length != 2) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return position;
+        } catch (IllegalArgumentException | EdcException e) {
+            throw new InvalidRequestException("Invalid cursor: " + e.getMessage());
+        }
+    }
+
     private CertMetadata mapMetadata(ResultSet resultSet) throws SQLException {
         var metadataJson = resultSet.getString("metadata");
         return fromJson(metadataJson, CertMetadata.class);
@@ -87,7 +342,7 @@ public class SqlCertStore extends AbstractSqlStore implements CertStore {
     @Override
     public CertMetadata getMetadata(String id) {
         return transactionContext.execute(() -> {
-            try (var connection = getConnection()) {
+            try (var connection = getReadConnection()) {
                 var stmt = "SELECT metadata FROM edc_certs WHERE id = ?";
                 return queryExecutor.query(connection, true, this::mapMetadata, stmt, id)
                         .findFirst()
@@ -99,28 +354,368 @@ public class SqlCertStore extends AbstractSqlStore implements CertStore {
     }
 
     @Override
-    public InputStream retrieve(String id) {
+    public boolean retrieve(String id, OutputStream output) {
+        return download(id, (metadata, content) -> content.writeTo(output));
+    }
+
+    /**
+     * Fetches metadata and content with a single statement and streams the chunks while the connection is held. The
+     * cursor fetches one chunk at a time, which requires the surrounding transaction, Postgres materializes the whole
+     * result in auto-commit mode.
+     */
+    @Override
+    public boolean download(String id, DownloadHandler handler) {
+        return transactionContext.execute(() -> {
+            try (var connection = getReadConnection();
+                 var ps = connection.prepareStatement(FETCH_CERTIFICATE)) {
+                ps.setFetchSize(1);
+                for (var i = 1; i <= 4; i++) {
+                    ps.setString(i, id);
+                }
+                try (var rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    var metadata = mapMetadata(rs);
+                    var contentRef = rs.getString("content_ref");
+                    if (contentRef != null) {
+                        handler.handle(metadata, output -> transferReference(contentRef, output));
+                    } else {
+                        handler.handle(metadata, new ChunkedContent(rs, rs.getString("encoding")));
+                    }
+                    return true;
+                }
+            } catch (SQLException | IOException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    /**
+     * Writes content stored outside the database into the output.
+     *
+     * @param contentRef the key of the content
+     * @param output     the stream to write to
+     */
+    protected void transferReference(String contentRef, OutputStream output) throws IOException {
+        throw new EdcException("Certificate content '%s' is stored outside the database, but no content store is configured".formatted(contentRef));
+    }
+
+
+    /**
+     * Appends a write to the change feed, as the last statement of the writing transaction: the advisory lock taken
+     * here is held until commit, so changes commit in the order of their sequence numbers. Afterwards, reads stay on
+     * the primary for the read-your-writes window. Within a {@link #batch(Supplier)}, the change is appended at the end
+     * of the batch instead.
+     */
+    protected void recordChange(Connection connection, String id, String operation) {
+        var pending = pendingChanges.get();
+        if (pending != null) {
+            pending.add(new PendingChange(id, operation));
+            return;
+        }
+        appendChanges(connection, List.of(new PendingChange(id, operation)));
+    }
+
+    /**
+     * Runs the batch in one transaction and appends the changes of its writes at its end, so the lock of the change feed
+     * is only held from then until the transaction commits.
+     */
+    @Override
+    public <T> T batch(Supplier<T> batch) {
+        if (pendingChanges.get() != null) {
+            return batch.get();
+        }
+        return transactionContext.execute(() -> {
+            var pending = new ArrayList<PendingChange>();
+            pendingChanges.set(pending);
+            T result;
+            try {
+                result = batch.get();
+            } finally {
+                pendingChanges.remove();
+            }
+            if (!pending.isEmpty()) {
+                try (var connection = getConnection()) {
+                    appendChanges(connection, pending);
+                } catch (SQLException e) {
+                    throw new EdcException(e);
+                }
+            }
+            return result;
+        });
+    }
+
+    private void appendChanges(Connection connection, List<PendingChange> changes) {
+        queryExecutor.query(connection, false, rs -> true, "SELECT pg_advisory_xact_lock(?)", CHANGE_FEED_LOCK).findFirst();
+        for (var change : changes) {
+            queryExecutor.execute(connection, "INSERT INTO edc_cert_changes (cert_id, operation, timestamp_epoch) VALUES (?, ?, EXTRACT(EPOCH FROM now())::BIGINT)",
+                    change.id(), change.operation());
+        }
+        if (replica != null) {
+            replica.written();
+        }
+    }
+
+    /**
+     * Reads a page of the change feed. Changes of the same certificate are collapsed into the latest one, and updates
+     * of certificates deleted since are left out, the deletion follows later in the feed.
+     */
+    @Override
+    public ChangePage changes(long since, int limit) {
+        return transactionContext.execute(() -> {
+            try (var connection = getReadConnection()) {
+                var stmt = "SELECT ch.seq, ch.cert_id, ch.operation, ch.timestamp_epoch, c.metadata FROM edc_cert_changes ch " +
+                        "LEFT JOIN edc_certs c ON c.id = ch.cert_id AND ch.operation = ? WHERE ch.seq > ? ORDER BY ch.seq LIMIT ?";
+                var rows = queryExecutor.query(connection, true, this::mapChange, stmt, CertChange.UPSERT, since, limit).toList();
+                // read after the page: the mark is raised in the pruning transaction, so a page that misses pruned changes sees it
+                var prunedThrough = queryExecutor.query(connection, true, rs -> rs.getLong("seq"), "SELECT COALESCE(MAX(seq), 0) AS seq FROM edc_cert_changes_pruned")
+                        .findFirst()
+                        .orElse(0L);
+                if (since < prunedThrough) {
+                    throw new ChangesPrunedException(since, prunedThrough);
+                }
+                if (rows.isEmpty()) {
+                    return new ChangePage(List.of(), since);
+                }
+                var latest = new LinkedHashMap<String, CertChange>();
+                for (var change : rows) {
+                    latest.remove(change.id());
+                    latest.put(change.id(), change);
+                }
+                var items = latest.values().stream()
+                        .filter(change -> CertChange.DELETE.equals(change.operation()) || change.metadata() != null)
+                        .toList();
+                return new ChangePage(items, rows.get(rows.size() - 1).sequence());
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public long latestChange() {
+        return transactionContext.execute(() -> {
+            try (var connection = getReadConnection()) {
+                return queryExecutor.query(connection, true, rs -> rs.getLong("seq"), "SELECT COALESCE(MAX(seq), 0) AS seq FROM edc_cert_changes")
+                        .findFirst()
+                        .orElse(0L);
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public int pruneChanges(long before) {
         return transactionContext.execute(() -> {
             try (var connection = getConnection()) {
-                var stmt = "SELECT data FROM edc_certs WHERE id = ?";
-                return queryExecutor.query(connection, true, rs -> rs.getBinaryStream("data"), stmt, id)
+                // the highest pruned sequence number is kept, so that readers behind it can be told to resync
+                var stmt = "WITH deleted AS (DELETE FROM edc_cert_changes WHERE timestamp_epoch < ? AND seq < (SELECT MAX(seq) FROM edc_cert_changes) RETURNING seq), " +
+                        "marked AS (INSERT INTO edc_cert_changes_pruned (id, seq) SELECT 1, MAX(seq) FROM deleted HAVING COUNT(*) > 0 " +
+                        "ON CONFLICT (id) DO UPDATE SET seq = GREATEST(edc_cert_changes_pruned.seq, EXCLUDED.seq)) " +
+                        "SELECT COUNT(*) AS pruned FROM deleted";
+                return queryExecutor.query(connection, true, rs -> rs.getInt("pruned"), stmt, before)
                         .findFirst()
-                        .orElse(null);
+                        .orElse(0);
             } catch (SQLException e) {
                 throw new EdcException(e);
             }
         });
     }
 
+    private CertChange mapChange(ResultSet resultSet) throws SQLException {
+        var metadataJson = resultSet.getString("metadata");
+        return new CertChange(resultSet.getLong("seq"), resultSet.getString("cert_id"), resultSet.getString("operation"), resultSet.getLong("timestamp_epoch"),
+                metadataJson != null ? fromJson(metadataJson, CertMetadata.class) : null);
+    }
+
+    /**
+     * Returns a connection for read-only statements, to the replica if one is configured and the routing allows it.
+     */
+    protected Connection getReadConnection() throws SQLException {
+        if (replica == null || !replica.useReplica(this::replicaLag)) {
+            return getConnection();
+        }
+        return replicaDataSource().getConnection();
+    }
+
+    /**
+     * Probes the lag of the replica. A replica that cannot be reached counts as lagging indefinitely.
+     */
+    private long replicaLag() {
+        try (var connection = replicaDataSource().getConnection()) {
+            return queryExecutor.query(connection, true, rs -> rs.getLong("lag_millis"), ReplicaRouting.LAG_QUERY)
+                    .findFirst()
+                    .orElse(0L);
+        } catch (SQLException | EdcException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private DataSource replicaDataSource() {
+        return Optional.ofNullable(dataSourceRegistry.resolve(replica.dataSourceName()))
+                .orElseThrow(() -> new EdcException("No datasource registered for the certificate read replica: " + replica.dataSourceName()));
+    }
+
     @Override
     public void updateMetadata(String id, CertMetadata metadata) {
         transactionContext.execute(() -> {
             try (var connection = getConnection()) {
                 var stmt = "UPDATE edc_certs SET metadata = ?::jsonb WHERE id = ?";
-                queryExecutor.execute(connection, stmt, toJson(metadata), id);
+                if (queryExecutor.execute(connection, stmt, toJson(metadata), id) > 0) {
+                    recordChange(connection, id, CertChange.UPSERT);
+                }
             } catch (SQLException e) {
                 throw new EdcException(e);
             }
         });
     }
+
+    private record PendingChange(String id, String operation) {
+    }
+
+    private record PageRow(String id, CertMetadata metadata, String sortValue) {
+    }
+
+    private record SharedContent(boolean inserted, @Nullable String encoding) {
+    }
+
+    /**
+     * The content in the remaining rows of a {@link #FETCH_CERTIFICATE} result.
+     */
+    private record ChunkedContent(ResultSet resultSet, @Nullable String encoding) implements Content {
+        @Override
+        public void writeTo(OutputStream output) throws IOException {
+            var chunks = new ChunkInputStream(resultSet);
+            try (var input = encoding != null ? decode(chunks, encoding) : chunks) {
+                input.transferTo(output);
+            }
+        }
+
+        @Override
+        public void writeEncodedTo(OutputStream output) throws IOException {
+            try (var input = new ChunkInputStream(resultSet)) {
+                input.transferTo(output);
+            }
+        }
+    }
+
+    /**
+     * Reads the data column of the remaining rows of a result set as one stream, fetching rows as they are needed.
+     */
+    private static final class ChunkInputStream extends InputStream {
+        private final ResultSet resultSet;
+        private InputStream chunk;
+        private boolean exhausted;
+
+        ChunkInputStream(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (nextChunk()) {
+                var read = chunk.read(buffer, offset, length);
+                if (read >= 0) {
+                    return read;
+                }
+                chunk.close();
+                chunk = null;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (chunk != null) {
+                chunk.close();
+                chunk = null;
+            }
+        }
+
+        private boolean nextChunk() throws IOException {
+            try {
+                while (chunk == null && !exhausted) {
+                    if (resultSet.next()) {
+                        chunk = resultSet.getBinaryStream("data");
+                    } else {
+                        exhausted = true;
+                    }
+                }
+                return chunk != null;
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /**
+     * Buffers written bytes and inserts them as a row whenever a chunk is full, and the remainder on close.
+     */
+    private static final class ChunkOutputStream extends OutputStream {
+        private final PreparedStatement statement;
+        private final String key;
+        private final byte[] buffer;
+        private int position;
+        private int seq;
+
+        ChunkOutputStream(PreparedStatement statement, String key, int chunkSize) {
+            this.statement = statement;
+            this.key = key;
+            this.buffer = new byte[chunkSize];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            buffer[position++] = (byte) b;
+            if (position == buffer.length) {
+                flushChunk();
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            var remaining = length;
+            var from = offset;
+            while (remaining > 0) {
+                var count = Math.min(remaining, buffer.length - position);
+                System.arraycopy(bytes, from, buffer, position, count);
+                position += count;
+                from += count;
+                remaining -= count;
+                if (position == buffer.length) {
+                    flushChunk();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (position > 0) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            try {
+                statement.setString(1, key);
+                statement.setInt(2, seq++);
+                statement.setBinaryStream(3, new ByteArrayInputStream(buffer, 0, position), position);
+                statement.executeUpdate();
+                position = 0;
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
+    }
 }
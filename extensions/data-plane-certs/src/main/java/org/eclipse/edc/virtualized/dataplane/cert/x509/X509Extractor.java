@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.x509;
+
+import org.eclipse.edc.virtualized.dataplane.cert.model.X509Info;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Extracts the fields of X.509 certificates from content while it is being stored. The content is captured as it
+ * passes through to the store, up to a maximum size, and parsed once it has been read completely, so it is read only
+ * once. PEM (also with several certificates), DER and PKCS#7 encodings are recognized; larger content, such as
+ * documents, is not captured.
+ */
+public class X509Extractor {
+    public static final int DEFAULT_MAX_SIZE = 1024 * 1024;
+
+    private final int maxSize;
+
+    public X509Extractor(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Wraps the content so that it is captured while read.
+     */
+    public Capture capture(InputStream content) {
+        return new Capture(content, maxSize);
+    }
+
+    /**
+     * Content that is captured while it is read.
+     */
+    public static class Capture extends FilterInputStream {
+        private final int maxSize;
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private long size;
+
+        Capture(InputStream in, int maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = super.read();
+            if (b >= 0) {
+                capture(new byte[]{ (byte) b }, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            var read = super.read(b, off, len);
+            if (read > 0) {
+                capture(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // skipped bytes are read, so that they are captured as well
+            var buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+            var skipped = 0L;
+            while (skipped < n) {
+                var read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public void close() {
+            // the caller owns the wrapped stream
+        }
+
+        /**
+         * Parses the captured content, to be called after the content has been read to its end.
+         *
+         * @return the fields of the first certificate, or null if the content is not a certificate or was too large
+         */
+        public @Nullable X509Info extract() {
+            if (captured == null || captured.size() == 0) {
+                return null;
+            }
+            try {
+                var certificates = CertificateFactory.getInstance("X.509").generateCertificates(new ByteArrayInputStream(captured.toByteArray()));
+                var first = certificates.stream()
+                        .filter(X509Certificate.class::isInstance)
+                        .map(X509Certificate.class::cast)
+                        .findFirst()
+                        .orElse(null);
+                if (first == null) {
+                    return null;
+                }
+                var fingerprint = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(first.getEncoded()));
+                return new X509Info(first.getSubjectX500Principal().getName(),
+                        first.getIssuerX500Principal().getName(),
+                        first.getSerialNumber().toString(16).toUpperCase(Locale.ROOT),
+                        fingerprint,
+                        first.getNotBefore().toInstant().getEpochSecond(),
+                        first.getNotAfter().toInstant().getEpochSecond(),
+                        certificates.size());
+            } catch (GeneralSecurityException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * The number of bytes read so far, including those beyond the capture limit.
+         */
+        public long size() {
+            return size;
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            size += len;
+            if (captured == null) {
+                return;
+            }
+            if (captured.size() + len > maxSize) {
+                captured = null;
+                return;
+            }
+            captured.write(b, off, len);
+        }
+    }
+}
@@ -20,3 +20,107 @@ CREATE TABLE IF NOT EXISTS edc_certs
     metadata          JSONB default '{}',
     data              BYTEA
 );
+
+-- table: edc_cert_chunks
+-- the content of a certificate, split in chunks so that it can be streamed in both directions. Rows of edc_certs
+-- written before the chunks were introduced keep their content in the data column.
+CREATE TABLE IF NOT EXISTS edc_cert_chunks
+(
+    cert_id           VARCHAR NOT NULL REFERENCES edc_certs (id) ON DELETE CASCADE,
+    seq               INTEGER NOT NULL,
+    data              BYTEA   NOT NULL,
+    PRIMARY KEY (cert_id, seq)
+);
+
+-- the key of the content in an external blob store, if the content is not kept in edc_cert_chunks
+ALTER TABLE edc_certs ADD COLUMN IF NOT EXISTS content_ref VARCHAR;
+CREATE INDEX IF NOT EXISTS edc_certs_content_ref_idx ON edc_certs (content_ref);
+
+-- table: edc_cert_activity
+-- append-only log of the accesses to a certificate, entries are kept when the certificate is deleted
+CREATE TABLE IF NOT EXISTS edc_cert_activity
+(
+    id                BIGSERIAL PRIMARY KEY,
+    cert_id           VARCHAR NOT NULL,
+    counter_party     VARCHAR,
+    timestamp_epoch   BIGINT  NOT NULL,
+    action            VARCHAR NOT NULL
+);
+CREATE INDEX IF NOT EXISTS edc_cert_activity_cert_idx ON edc_cert_activity (cert_id, id);
+
+-- equality and IN filters on the metadata are translated to containment, which this index answers
+CREATE INDEX IF NOT EXISTS edc_certs_metadata_gin_idx ON edc_certs USING GIN (metadata jsonb_path_ops);
+-- sorting, keyset paging and range filters on the content type; further paths can be indexed the same way, the
+-- expression must match the one generated for the path, e.g. (metadata #>> '{properties,issuer}') for properties.issuer
+DROP INDEX IF EXISTS edc_certs_content_type_idx;
+CREATE INDEX IF NOT EXISTS edc_certs_content_type_sort_idx ON edc_certs ((metadata ->> 'contentType'), id);
+-- prefix LIKE filters on the content type, which the default operator class cannot answer under a non-C collation
+CREATE INDEX IF NOT EXISTS edc_certs_content_type_pattern_idx ON edc_certs ((metadata ->> 'contentType') text_pattern_ops);
+
+-- table: edc_cert_content
+-- content stored in the database, once per SHA-256 hash and shared by all certificates with identical bytes
+CREATE TABLE IF NOT EXISTS edc_cert_content
+(
+    hash              VARCHAR PRIMARY KEY,
+    ref_count         INTEGER NOT NULL,
+    size              BIGINT  NOT NULL
+);
+
+-- table: edc_cert_content_chunks
+-- while content is being uploaded, its chunks are kept under a temporary key until the hash is known
+CREATE TABLE IF NOT EXISTS edc_cert_content_chunks
+(
+    hash              VARCHAR NOT NULL,
+    seq               INTEGER NOT NULL,
+    data              BYTEA   NOT NULL,
+    PRIMARY KEY (hash, seq)
+);
+
+ALTER TABLE edc_certs ADD COLUMN IF NOT EXISTS content_hash VARCHAR;
+
+-- fields of the first X.509 certificate in the content, validity in epoch seconds
+ALTER TABLE edc_certs ADD COLUMN IF NOT EXISTS x509_subject VARCHAR;
+ALTER TABLE edc_certs ADD COLUMN IF NOT EXISTS x509_issuer VARCHAR;
+ALTER TABLE edc_certs ADD COLUMN IF NOT EXISTS x509_serial VARCHAR;
+ALTER TABLE edc_certs ADD COLUMN IF NOT EXISTS x509_fingerprint VARCHAR;
+ALTER TABLE edc_certs ADD COLUMN IF NOT EXISTS x509_not_before BIGINT;
+ALTER TABLE edc_certs ADD COLUMN IF NOT EXISTS x509_not_after BIGINT;
+-- the subject and the validity are sorted by with the id as tie-breaker, the other fields are looked up
+DROP INDEX IF EXISTS edc_certs_x509_subject_idx;
+CREATE INDEX IF NOT EXISTS edc_certs_x509_subject_sort_idx ON edc_certs (x509_subject, id);
+CREATE INDEX IF NOT EXISTS edc_certs_x509_issuer_serial_idx ON edc_certs (x509_issuer, x509_serial);
+CREATE INDEX IF NOT EXISTS edc_certs_x509_fingerprint_idx ON edc_certs (x509_fingerprint);
+CREATE INDEX IF NOT EXISTS edc_certs_x509_not_before_idx ON edc_certs (x509_not_before, id);
+CREATE INDEX IF NOT EXISTS edc_certs_x509_not_after_idx ON edc_certs (x509_not_after, id);
+
+-- table: edc_cert_changes
+-- one row per insert, update or delete of a certificate. Writers append under a transaction-scoped advisory lock, so
+-- sequence numbers become visible in increasing order and a reader polling for seq > cursor never skips a change.
+CREATE TABLE IF NOT EXISTS edc_cert_changes
+(
+    seq               BIGSERIAL PRIMARY KEY,
+    cert_id           VARCHAR NOT NULL,
+    operation         VARCHAR NOT NULL,
+    timestamp_epoch   BIGINT  NOT NULL
+);
+-- changes older than the retention are pruned by time
+CREATE INDEX IF NOT EXISTS edc_cert_changes_timestamp_idx ON edc_cert_changes (timestamp_epoch);
+
+-- table: edc_cert_changes_pruned
+-- the highest sequence number pruned from edc_cert_changes; readers with an older cursor have missed changes
+CREATE TABLE IF NOT EXISTS edc_cert_changes_pruned
+(
+    id  INTEGER PRIMARY KEY CHECK (id = 1),
+    seq BIGINT  NOT NULL
+);
+
+-- the content coding the chunks of shared content are stored with, e.g. gzip; NULL if they hold the content as is
+ALTER TABLE edc_cert_content ADD COLUMN IF NOT EXISTS encoding VARCHAR;
+
+-- content in a blob store is reference counted in edc_cert_content as well, under the key 'blob:' || content_ref.
+-- Certificates stored before the blobs were counted are counted here once; their size is not known.
+INSERT INTO edc_cert_content (hash, ref_count, size)
+SELECT 'blob:' || content_ref, count(*), 0 FROM edc_certs WHERE content_ref IS NOT NULL GROUP BY content_ref
+ON CONFLICT (hash) DO NOTHING;
+-- released content awaiting deletion
+CREATE INDEX IF NOT EXISTS edc_cert_content_released_idx ON edc_cert_content (hash) WHERE ref_count <= 0;
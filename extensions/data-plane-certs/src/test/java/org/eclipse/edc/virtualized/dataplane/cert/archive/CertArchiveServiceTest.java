@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.archive;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.transaction.spi.NoopTransactionContext;
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.eclipse.edc.virtualized.dataplane.cert.model.MetadataPage;
+import org.eclipse.edc.virtualized.dataplane.cert.store.CertStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CertArchiveServiceTest {
+
+    private final CertStore certStore = mock();
+    private final CertArchiveService service = new CertArchiveService(certStore, new NoopTransactionContext(), 10);
+
+    @Test
+    void exportArchive_writesOneEntryPerCertificate() throws IOException {
+        var first = new CertMetadata("1", "application/x-pem-file", Map.of());
+        var second = new CertMetadata("2", "application/json", Map.of());
+        when(certStore.queryMetadata(any(QuerySpec.class), isNull())).thenReturn(new MetadataPage(List.of(first, second), null));
+        stubDownload(first, "pem content");
+        stubDownload(second, "{}");
+        var exported = new ArrayList<String>();
+
+        var output = new ByteArrayOutputStream();
+        service.exportArchive(QuerySpec.Builder.newInstance().build(), output, metadata -> exported.add(metadata.id()));
+
+        assertThat(entries(output.toByteArray())).containsExactly("1.pem=pem content", "2.json={}");
+        assertThat(exported).containsExactly("1", "2");
+    }
+
+    @Test
+    void exportArchive_skipsCertificatesDeletedMeanwhile() throws IOException {
+        var first = new CertMetadata("1", "application/x-pem-file", Map.of());
+        var deleted = new CertMetadata("2", "application/json", Map.of());
+        when(certStore.queryMetadata(any(QuerySpec.class), isNull())).thenReturn(new MetadataPage(List.of(deleted, first), null));
+        stubDownload(first, "pem content");
+        when(certStore.download(eq("2"), any())).thenReturn(false);
+        var exported = new ArrayList<String>();
+
+        var output = new ByteArrayOutputStream();
+        service.exportArchive(QuerySpec.Builder.newInstance().build(), output, metadata -> exported.add(metadata.id()));
+
+        assertThat(entries(output.toByteArray())).containsExactly("1.pem=pem content");
+        assertThat(exported).containsExactly("1");
+    }
+
+    private void stubDownload(CertMetadata metadata, String content) {
+        when(certStore.download(eq(metadata.id()), any())).thenAnswer(invocation -> {
+            CertStore.DownloadHandler handler = invocation.getArgument(1);
+            handler.handle(metadata, output -> output.write(content.getBytes(StandardCharsets.UTF_8)));
+            return true;
+        });
+    }
+
+    private static List<String> entries(byte[] archive) throws IOException {
+        var entries = new ArrayList<String>();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.add(entry.getName() + "=" + new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TarArchiveReaderTest {
+
+    @Test
+    void next_readsRegularFiles_andSkipsDirectories() throws IOException {
+        try (var input = fixture("basic.tar")) {
+            var reader = new TarArchiveReader(input);
+
+            var pem = reader.next();
+            assertThat(pem.name()).isEqualTo("a.pem");
+            assertThat(pem.contentType()).isEqualTo("application/x-pem-file");
+            assertThat(new String(pem.content().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("-----BEGIN-----\n");
+
+            var der = reader.next();
+            assertThat(der.name()).isEqualTo("b.der");
+            assertThat(der.contentType()).isEqualTo("application/pkix-cert");
+            assertThat(der.content().readAllBytes()).isEqualTo(derContent());
+
+            var json = reader.next();
+            assertThat(json.name()).isEqualTo("c.json");
+            assertThat(new String(json.content().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"a\":1}");
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void next_skipsUnreadContentAndPadding() throws IOException {
+        try (var input = fixture("basic.tar")) {
+            var reader = new TarArchiveReader(input);
+
+            assertThat(reader.next().name()).isEqualTo("a.pem");
+            var der = reader.next();
+            assertThat(der.content().readNBytes(10)).hasSize(10);
+            var json = reader.next();
+
+            assertThat(json.name()).isEqualTo("c.json");
+            assertThat(new String(json.content().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"a\":1}");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void next_readsUstarEntryWithPrefix() throws IOException {
+        try (var input = fixture("prefix.tar")) {
+            var reader = new TarArchiveReader(input);
+
+            var entry = reader.next();
+            assertThat(entry.name()).isEqualTo("cert.pem");
+            assertThat(new String(entry.content().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("x");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void read_failsOnTruncatedContent() throws IOException {
+        try (var input = fixture("truncated.tar")) {
+            var reader = new TarArchiveReader(input);
+            reader.next();
+            var der = reader.next();
+
+            assertThatThrownBy(() -> der.content().readAllBytes()).isInstanceOf(EOFException.class);
+        }
+    }
+
+    @Test
+    void next_failsOnTruncatedContent_whenSkipped() throws IOException {
+        try (var input = fixture("truncated.tar")) {
+            var reader = new TarArchiveReader(input);
+            reader.next();
+            reader.next();
+
+            assertThatThrownBy(reader::next).isInstanceOf(EOFException.class);
+        }
+    }
+
+    @Test
+    void next_failsOnTruncatedHeader() throws IOException {
+        byte[] archive;
+        try (var input = fixture("basic.tar")) {
+            archive = input.readAllBytes();
+        }
+        // the header of the directory and part of the header of the first file
+        var reader = new TarArchiveReader(new ByteArrayInputStream(Arrays.copyOf(archive, 700)));
+
+        assertThatThrownBy(reader::next).isInstanceOf(EOFException.class);
+    }
+
+    private static InputStream fixture(String name) {
+        return TarArchiveReaderTest.class.getResourceAsStream("/archives/" + name);
+    }
+
+    private static byte[] derContent() {
+        var content = new byte[600];
+        for (var i = 0; i < content.length; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        return content;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store;
+
+import org.eclipse.edc.virtualized.dataplane.cert.model.CertMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingCertStoreTest {
+    private static final CertMetadata PREVIOUS = new CertMetadata("1", "application/json", Map.of("version", "1"));
+    private static final CertMetadata CURRENT = new CertMetadata("1", "application/json", Map.of("version", "2"));
+
+    private final CertStore delegate = mock();
+    private final CachingCertStore store = new CachingCertStore(delegate, 10, Duration.ofMinutes(1), Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+    // what the delegate reads, the previous metadata until the write has committed
+    private final AtomicReference<CertMetadata> committed = new AtomicReference<>(PREVIOUS);
+
+    @Test
+    void getMetadata_isAnsweredFromTheCache() {
+        when(delegate.getMetadata("1")).thenAnswer(invocation -> committed.get());
+
+        assertThat(store.getMetadata("1")).isEqualTo(PREVIOUS);
+        assertThat(store.getMetadata("1")).isEqualTo(PREVIOUS);
+
+        verify(delegate, times(1)).getMetadata("1");
+        assertThat(store.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void store_invalidatesAfterTheWrite() {
+        when(delegate.getMetadata("1")).thenAnswer(invocation -> committed.get());
+        when(delegate.store(eq("1"), any(), any(InputStream.class))).thenAnswer(invocation -> {
+            // a read while the write runs sees the previous metadata
+            store.getMetadata("1");
+            committed.set(CURRENT);
+            return CURRENT;
+        });
+
+        store.store("1", CURRENT, new ByteArrayInputStream(new byte[0]));
+
+        assertThat(store.getMetadata("1")).isEqualTo(CURRENT);
+    }
+
+    @Test
+    void batch_invalidatesTheWritesOnceCommitted() {
+        when(delegate.getMetadata("1")).thenAnswer(invocation -> committed.get());
+        when(delegate.batch(any())).thenAnswer(invocation -> {
+            var result = invocation.<Supplier<?>>getArgument(0).get();
+            committed.set(CURRENT);
+            return result;
+        });
+
+        store.batch(() -> {
+            store.updateMetadata("1", CURRENT);
+            // the update has not committed yet
+            return store.getMetadata("1");
+        });
+
+        assertThat(store.getMetadata("1")).isEqualTo(CURRENT);
+    }
+
+    @Test
+    void getMetadata_doesNotCacheReadsOverlappingAWrite() {
+        when(delegate.getMetadata("1")).thenAnswer(invocation -> {
+            var read = committed.get();
+            // the write commits after the read, but before the read is cached
+            store.delete("1");
+            committed.set(CURRENT);
+            return read;
+        });
+
+        assertThat(store.getMetadata("1")).isEqualTo(PREVIOUS);
+
+        assertThat(store.cachedMetadata("1")).isNull();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.virtualized.dataplane.cert.store.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CertQueryTranslatorTest {
+    private final CertQueryTranslator translator = new CertQueryTranslator(new ObjectMapper());
+
+    @Test
+    void where_withoutFilter() {
+        assertThat(translator.where(QuerySpec.Builder.newInstance().build()).sql()).isEqualTo("TRUE");
+    }
+
+    @Test
+    void where_equalsAsContainment() {
+        var clause = where("properties.issuer", "=", "acme");
+
+        assertThat(clause.sql()).isEqualTo("metadata @> ?::jsonb");
+        assertThat(clause.parameters()).containsExactly("{\"properties\":{\"issuer\":\"acme\"}}");
+    }
+
+    @Test
+    void where_inAsContainment() {
+        var clause = where("contentType", "in", List.of("a", "b"));
+
+        assertThat(clause.sql()).isEqualTo("(metadata @> ?::jsonb OR metadata @> ?::jsonb)");
+        assertThat(clause.parameters()).containsExactly("{\"contentType\":\"a\"}", "{\"contentType\":\"b\"}");
+    }
+
+    @Test
+    void where_emptyInMatchesNothing() {
+        assertThat(where("contentType", "in", List.of()).sql()).isEqualTo("FALSE");
+        assertThat(where("x509.subject", "in", List.of()).sql()).isEqualTo("FALSE");
+    }
+
+    @Test
+    void where_notEquals() {
+        var clause = where("contentType", "!=", "text/plain");
+
+        assertThat(clause.sql()).isEqualTo("(metadata ->> 'contentType') IS DISTINCT FROM ?");
+        assertThat(clause.parameters()).containsExactly("text/plain");
+    }
+
+    @Test
+    void where_like() {
+        assertThat(where("properties.name", "like", "a%").sql()).isEqualTo("(metadata #>> '{properties,name}') LIKE ?");
+        assertThat(where("properties.name", "ILIKE", "a%").sql()).isEqualTo("(metadata #>> '{properties,name}') ILIKE ?");
+    }
+
+    @Test
+    void where_comparesNumbersNumerically() {
+        var clause = where("properties.size", "<", 5);
+
+        assertThat(clause.sql()).isEqualTo("(CASE WHEN jsonb_typeof(metadata #> '{properties,size}') = 'number' THEN (metadata #>> '{properties,size}')::numeric END) < ?");
+        assertThat(clause.parameters()).containsExactly(5);
+    }
+
+    @Test
+    void where_comparesTextAsText() {
+        var clause = where("properties.size", ">", "5");
+
+        assertThat(clause.sql()).isEqualTo("(metadata #>> '{properties,size}') > ?");
+        assertThat(clause.parameters()).containsExactly("5");
+    }
+
+    @Test
+    void where_x509Columns() {
+        var validity = where("x509.notAfter", ">=", "2026-01-01T00:00:00Z");
+        assertThat(validity.sql()).isEqualTo("x509_not_after >= ?");
+        assertThat(validity.parameters()).containsExactly(1767225600L);
+
+        var subject = where("x509.subject", "in", List.of("CN=a", "CN=b"));
+        assertThat(subject.sql()).isEqualTo("x509_subject IN (?, ?)");
+        assertThat(subject.parameters()).containsExactly("CN=a", "CN=b");
+    }
+
+    @Test
+    void where_rejectsInvalidTime() {
+        assertThatThrownBy(() -> where("x509.notAfter", "<", "soon")).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void where_rejectsLikeOnNumericColumn() {
+        assertThatThrownBy(() -> where("x509.notAfter", "like", "1%")).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void where_rejectsUnsupportedOperator() {
+        assertThatThrownBy(() -> where("contentType", "contains", "x")).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void where_rejectsInvalidPath() {
+        // paths are inlined into the SQL, anything but plain segments must be rejected
+        for (var path : List.of("properties.a'b", "properties..name", "properties.name}", "contentType') OR TRUE --", "properties.a b", "")) {
+            assertThatThrownBy(() -> where(path, "<", "x")).isInstanceOf(InvalidRequestException.class);
+            assertThatThrownBy(() -> where(path, "=", "x")).isInstanceOf(InvalidRequestException.class);
+        }
+    }
+
+    @Test
+    void orderBy() {
+        assertThat(translator.orderBy(QuerySpec.Builder.newInstance().build())).isEqualTo("id ASC");
+        assertThat(translator.orderBy(sortedBy("contentType", SortOrder.DESC))).isEqualTo("(metadata ->> 'contentType') DESC NULLS FIRST, id DESC");
+        assertThat(translator.orderBy(sortedBy("x509.notAfter", SortOrder.ASC))).isEqualTo("x509_not_after ASC NULLS LAST, id ASC");
+    }
+
+    @Test
+    void after_id() {
+        assertThat(translator.after(QuerySpec.Builder.newInstance().build(), null, "i1"))
+                .containsExactly(new CertQueryTranslator.Clause("id > ?", List.of("i1")));
+    }
+
+    @Test
+    void after_ascending_presentValueIsFollowedByMissingValues() {
+        assertThat(translator.after(sortedBy("x509.notAfter", SortOrder.ASC), "1767225600", "i1")).containsExactly(
+                new CertQueryTranslator.Clause("(x509_not_after, id) > (?, ?)", List.of(1767225600L, "i1")),
+                new CertQueryTranslator.Clause("x509_not_after IS NULL", List.of()));
+    }
+
+    @Test
+    void after_ascending_missingValue() {
+        assertThat(translator.after(sortedBy("x509.notAfter", SortOrder.ASC), null, "i1"))
+                .containsExactly(new CertQueryTranslator.Clause("x509_not_after IS NULL AND id > ?", List.of("i1")));
+    }
+
+    @Test
+    void after_descending_presentValue() {
+        assertThat(translator.after(sortedBy("contentType", SortOrder.DESC), "text/plain", "i1"))
+                .containsExactly(new CertQueryTranslator.Clause("((metadata ->> 'contentType'), id) < (?, ?)", List.of("text/plain", "i1")));
+    }
+
+    @Test
+    void after_descending_missingValueIsFollowedByPresentValues() {
+        assertThat(translator.after(sortedBy("contentType", SortOrder.DESC), null, "i1")).containsExactly(
+                new CertQueryTranslator.Clause("(metadata ->> 'contentType') IS NULL AND id < ?", List.of("i1")),
+                new CertQueryTranslator.Clause("(metadata ->> 'contentType') IS NOT NULL", List.of()));
+    }
+
+    private CertQueryTranslator.Clause where(String path, String operator, Object value) {
+        return translator.where(QuerySpec.Builder.newInstance().filter(List.of(new Criterion(path, operator, value))).build());
+    }
+
+    private QuerySpec sortedBy(String field, SortOrder order) {
+        return QuerySpec.Builder.newInstance().sortField(field).sortOrder(order).build();
+    }
+}
@@ -14,16 +14,21 @@
 
 package org.eclipse.edc.connector.dataplane.api;
 
+import org.eclipse.edc.connector.dataplane.api.controller.AuthorizationCache;
+import org.eclipse.edc.connector.dataplane.api.controller.CompressingOutputWriter;
 import org.eclipse.edc.connector.dataplane.api.controller.DataPlanePublicApiV2Controller;
+import org.eclipse.edc.connector.dataplane.api.controller.ResponseCompression;
 import org.eclipse.edc.connector.dataplane.spi.Endpoint;
 import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAuthorizationService;
 import org.eclipse.edc.connector.dataplane.spi.iam.PublicEndpointGeneratorService;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.PipelineService;
+import org.eclipse.edc.connector.dataplane.spi.store.AccessTokenDataStore;
 import org.eclipse.edc.runtime.metamodel.annotation.Configuration;
 import org.eclipse.edc.runtime.metamodel.annotation.Extension;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
 import org.eclipse.edc.runtime.metamodel.annotation.Setting;
 import org.eclipse.edc.runtime.metamodel.annotation.Settings;
+import org.eclipse.edc.spi.monitor.Monitor;
 import org.eclipse.edc.spi.system.ExecutorInstrumentation;
 import org.eclipse.edc.spi.system.Hostname;
 import org.eclipse.edc.spi.system.ServiceExtension;
@@ -32,7 +37,19 @@ import org.eclipse.edc.web.spi.WebService;
 import org.eclipse.edc.web.spi.configuration.PortMapping;
 import org.eclipse.edc.web.spi.configuration.PortMappingRegistry;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * This extension provides generic endpoints which are open to public participants of the Dataspace to execute
@@ -46,6 +63,14 @@ public class DataPlanePublicApiV2Extension implements ServiceExtension {
     private static final int DEFAULT_PUBLIC_PORT = 8185;
     private static final String DEFAULT_PUBLIC_PATH = "/api/public";
     private static final int DEFAULT_THREAD_POOL = 10;
+    private static final int DEFAULT_QUEUE_DEPTH = 0;
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+    private static final long ELASTIC_KEEP_ALIVE_SECONDS = 60;
+    private static final long DEFAULT_BODY_MAX_SIZE = 100L * 1024 * 1024;
+    private static final int DEFAULT_AUTH_CACHE_SIZE = 0;
+    private static final long DEFAULT_AUTH_CACHE_TTL_SECONDS = 300;
+    private static final String DEFAULT_COMPRESSION_TYPES = "application/json,application/ld+json,application/xml,text/csv,text/plain,text/xml";
+    private static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
     @Setting(description = "Base url of the public API endpoint without the trailing slash. This should point to the public endpoint configured.",
             required = false,
             key = "edc.dataplane.api.public.baseurl", warnOnMissingConfig = true)
@@ -54,6 +79,27 @@ public class DataPlanePublicApiV2Extension implements ServiceExtension {
     private String publicApiResponseUrl;
     @Configuration
     private PublicApiConfiguration apiConfiguration;
+    @Configuration
+    private ProxyExecutorConfiguration executorConfiguration;
+    @Setting(description = "Maximum size in bytes of the request body of a proxied request. Larger requests are rejected with 413",
+            key = "edc.dataplane.api.public.body.maxsize", defaultValue = DEFAULT_BODY_MAX_SIZE + "")
+    private long bodyMaxSize;
+    @Setting(description = "Maximum number of verified tokens whose authorization is cached, 0 (the default) disables the cache. Cached authorizations skip the access control of the request data, " +
+            "so the cache must only be enabled if the access control does not depend on the requested path, method or query",
+            key = "edc.dataplane.api.public.auth.cache.size", defaultValue = DEFAULT_AUTH_CACHE_SIZE + "")
+    private int authCacheSize;
+    @Setting(description = "Maximum time in seconds for which an authorization is cached, tokens that expire earlier are cached until their expiry",
+            key = "edc.dataplane.api.public.auth.cache.ttl", defaultValue = DEFAULT_AUTH_CACHE_TTL_SECONDS + "")
+    private long authCacheTtlSeconds;
+    @Setting(description = "Whether proxied responses are compressed with gzip or deflate when the consumer accepts it",
+            key = "edc.dataplane.api.public.compression.enabled", defaultValue = "false")
+    private boolean compressionEnabled;
+    @Setting(description = "Comma-separated list of the media types of proxied responses that are compressed",
+            key = "edc.dataplane.api.public.compression.types", defaultValue = DEFAULT_COMPRESSION_TYPES)
+    private String compressionTypes;
+    @Setting(description = "Minimum size in bytes of a proxied response to be compressed, smaller responses are sent unchanged",
+            key = "edc.dataplane.api.public.compression.minsize", defaultValue = DEFAULT_COMPRESSION_MIN_SIZE + "")
+    private int compressionMinSize;
     @Inject
     private PortMappingRegistry portMappingRegistry;
     @Inject
@@ -67,6 +113,8 @@ public class DataPlanePublicApiV2Extension implements ServiceExtension {
     @Inject
     private PublicEndpointGeneratorService generatorService;
     @Inject
+    private AccessTokenDataStore accessTokenDataStore;
+    @Inject
     private Hostname hostname;
 
     @Override
@@ -81,10 +129,8 @@ public class DataPlanePublicApiV2Extension implements ServiceExtension {
 
         var portMapping = new PortMapping(API_CONTEXT, apiConfiguration.port(), apiConfiguration.path());
         portMappingRegistry.register(portMapping);
-        var executorService = executorInstrumentation.instrument(
-                Executors.newFixedThreadPool(DEFAULT_THREAD_POOL),
-                "Data plane proxy transfers"
-        );
+        var pool = createPool(executorConfiguration, context.getMonitor());
+        var executorService = executorInstrumentation.instrument(pool, "Data plane proxy transfers");
 
         if (publicBaseUrl == null) {
             publicBaseUrl = "http://%s:%d%s".formatted(hostname.get(), portMapping.port(), portMapping.path());
@@ -97,8 +143,58 @@ public class DataPlanePublicApiV2Extension implements ServiceExtension {
             generatorService.addResponseGeneratorFunction("HttpData", () -> Endpoint.url(publicApiResponseUrl));
         }
 
-        var publicApiController = new DataPlanePublicApiV2Controller(pipelineService, executorService, authorizationService);
+        var authorizationCache = new AuthorizationCache(authorizationService, accessTokenDataStore, authCacheSize, Duration.ofSeconds(authCacheTtlSeconds), context.getClock());
+        var publicApiController = new DataPlanePublicApiV2Controller(pipelineService, executorService, authorizationCache,
+                () -> isSaturated(pool), Duration.ofSeconds(executorConfiguration.retryAfter()), bodyMaxSize,
+                new ResponseCompression(compressionEnabled, parseMediaTypes(compressionTypes), compressionMinSize));
         webService.registerResource(API_CONTEXT, publicApiController);
+        webService.registerResource(API_CONTEXT, new CompressingOutputWriter());
+    }
+
+    /**
+     * Creates the pool on which proxied transfers run. All pool types are bounded by the configured size and queue
+     * depth, they differ in whether idle threads are released and whether virtual threads are used.
+     */
+    private ThreadPoolExecutor createPool(ProxyExecutorConfiguration configuration, Monitor monitor) {
+        var type = PoolType.valueOf(configuration.type().toUpperCase(Locale.ROOT));
+        BlockingQueue<Runnable> queue = configuration.queueDepth() > 0 ? new ArrayBlockingQueue<>(configuration.queueDepth()) : new SynchronousQueue<>();
+        RejectedExecutionHandler rejectionPolicy = "caller-runs".equalsIgnoreCase(configuration.rejectionPolicy()) ? new ThreadPoolExecutor.CallerRunsPolicy() : new ThreadPoolExecutor.AbortPolicy();
+        var threadFactory = type == PoolType.VIRTUAL ? virtualThreadFactory(monitor) : Executors.defaultThreadFactory();
+
+        var pool = new ThreadPoolExecutor(configuration.size(), configuration.size(), ELASTIC_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue, threadFactory, rejectionPolicy);
+        pool.allowCoreThreadTimeOut(type != PoolType.FIXED);
+        return pool;
+    }
+
+    private ThreadFactory virtualThreadFactory(Monitor monitor) {
+        try {
+            // virtual threads require Java 21, while this module is compiled for Java 17
+            var builderType = Class.forName("java.lang.Thread$Builder");
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            var named = builderType.getMethod("name", String.class, long.class).invoke(builder, "proxy-transfer-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(named);
+        } catch (ReflectiveOperationException e) {
+            monitor.warning("Virtual threads are not available in this runtime, the data plane proxy uses platform threads instead");
+            return Executors.defaultThreadFactory();
+        }
+    }
+
+    private Set<String> parseMediaTypes(String mediaTypes) {
+        return Arrays.stream(mediaTypes.split(","))
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .map(type -> type.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    private boolean isSaturated(ThreadPoolExecutor pool) {
+        return pool.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.AbortPolicy &&
+                pool.getActiveCount() >= pool.getMaximumPoolSize() &&
+                pool.getQueue().remainingCapacity() == 0;
+    }
+
+    private enum PoolType {
+        FIXED, ELASTIC, VIRTUAL
     }
 
     @Settings
@@ -110,4 +206,23 @@ public class DataPlanePublicApiV2Extension implements ServiceExtension {
     ) {
 
     }
+
+    @Settings
+    record ProxyExecutorConfiguration(
+            @Setting(key = "edc.dataplane.api.public.executor.type", description = "Type of the pool on which proxied transfers run: 'fixed', 'elastic' (threads are released when idle) or 'virtual' (virtual threads, Java 21+)",
+                    defaultValue = "fixed")
+            String type,
+            @Setting(key = "edc.dataplane.api.public.executor.size", description = "Maximum number of proxied transfers that run concurrently", defaultValue = DEFAULT_THREAD_POOL + "")
+            int size,
+            @Setting(key = "edc.dataplane.api.public.executor.queue", description = "Number of proxied transfers that may wait for a free thread. 0 disables queueing", defaultValue = DEFAULT_QUEUE_DEPTH + "")
+            int queueDepth,
+            @Setting(key = "edc.dataplane.api.public.executor.rejection", description = "What happens to a transfer when the pool and queue are full: 'abort' (503 response) or 'caller-runs' (run on the request thread)",
+                    defaultValue = "abort")
+            String rejectionPolicy,
+            @Setting(key = "edc.dataplane.api.public.executor.retryafter", description = "Value in seconds of the Retry-After header of the 503 response sent when the pool is saturated",
+                    defaultValue = DEFAULT_RETRY_AFTER_SECONDS + "")
+            long retryAfter
+    ) {
+
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.connector.dataplane.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAuthorizationService;
+import org.eclipse.edc.connector.dataplane.spi.store.AccessTokenDataStore;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches successful authorizations of the public API, so that repeated requests with the same token skip the signature
+ * verification. Entries are keyed by a hash of the token, so tokens are never kept in memory, and expire with the
+ * {@code exp} claim of the token, or after the maximum TTL if that is earlier.
+ * <p>
+ * On every cache hit the access token data is looked up by the {@code jti} of the token. Terminating or suspending a
+ * transfer revokes the EDR, which deletes the access token data, so revoked tokens are rejected immediately.
+ * <p>
+ * The request data is not evaluated on cache hits. The cache is therefore disabled by default, and must stay disabled
+ * if the data plane access control depends on the requested path, method or query.
+ */
+public class AuthorizationCache {
+    private static final String JTI = "jti";
+    private static final String EXP = "exp";
+
+    private final DataPlaneAuthorizationService authorizationService;
+    private final AccessTokenDataStore accessTokenDataStore;
+    private final int maxSize;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AuthorizationCache(DataPlaneAuthorizationService authorizationService, @Nullable AccessTokenDataStore accessTokenDataStore, int maxSize, Duration maxTtl, Clock clock) {
+        this.authorizationService = authorizationService;
+        this.accessTokenDataStore = accessTokenDataStore;
+        this.maxSize = accessTokenDataStore == null ? 0 : maxSize;
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AuthorizationCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache that always delegates to the authorization service.
+     */
+    public static AuthorizationCache disabled(DataPlaneAuthorizationService authorizationService) {
+        return new AuthorizationCache(authorizationService, null, 0, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Authorizes the token, either from the cache or through the authorization service.
+     *
+     * @param token       the token of the request
+     * @param requestData supplies the request data, only invoked if the token is not cached
+     * @return the source data address, or a failure if the token is not authorized
+     */
+    public Result<DataAddress> authorize(String token, Supplier<Map<String, Object>> requestData) {
+        if (maxSize == 0) {
+            return authorizationService.authorize(token, requestData.get());
+        }
+
+        var key = hash(token);
+        var cached = get(key);
+        if (cached != null) {
+            if (accessTokenDataStore.getById(cached.jti()) != null) {
+                hits.increment();
+                return Result.success(cached.dataAddress());
+            }
+            invalidate(key);
+        }
+
+        misses.increment();
+        var result = authorizationService.authorize(token, requestData.get());
+        if (result.succeeded()) {
+            put(key, token, result.getContent());
+        }
+        return result;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Nullable
+    private Entry get(String key) {
+        synchronized (entries) {
+            var entry = entries.get(key);
+            if (entry != null && !clock.instant().isBefore(entry.expiresAt())) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void put(String key, String token, DataAddress dataAddress) {
+        var claims = claims(token);
+        if (claims == null || !claims.hasNonNull(JTI)) {
+            // without a jti, revocation could not be checked on cache hits
+            return;
+        }
+        var expiresAt = clock.instant().plus(maxTtl);
+        if (claims.hasNonNull(EXP) && claims.get(EXP).canConvertToLong()) {
+            var exp = Instant.ofEpochSecond(claims.get(EXP).asLong());
+            expiresAt = exp.isBefore(expiresAt) ? exp : expiresAt;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(dataAddress, claims.get(JTI).asText(), expiresAt));
+        }
+    }
+
+    private void invalidate(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Nullable
+    private JsonNode claims(String token) {
+        var parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private record Entry(DataAddress dataAddress, String jti, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.connector.dataplane.api.controller;
+
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Response entity of the public API whose body is compressed while it is written, see {@link CompressingOutputWriter}.
+ *
+ * @param source   writes the uncompressed body
+ * @param encoding the content coding, gzip or deflate
+ * @param minSize  bodies smaller than this are written uncompressed
+ */
+public record CompressingOutput(Consumer<OutputStream> source, String encoding, int minSize) {
+}
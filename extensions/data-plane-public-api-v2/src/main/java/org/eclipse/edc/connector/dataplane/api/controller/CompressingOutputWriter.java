@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.connector.dataplane.api.controller;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static jakarta.ws.rs.core.MediaType.WILDCARD;
+
+/**
+ * Writes a {@link CompressingOutput}. The first bytes of the body are held back until the minimum size is reached, and
+ * only then the body is compressed and the {@code Content-Encoding} header is set. Bodies that stay below the minimum
+ * size, and bodies that start with the signature of a compressed format, are written unchanged.
+ */
+@Provider
+@Produces(WILDCARD)
+public class CompressingOutputWriter implements MessageBodyWriter<CompressingOutput> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return CompressingOutput.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(CompressingOutput output, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        try (var stream = new DeferredCompressionStream(entityStream, httpHeaders, output.encoding(), output.minSize())) {
+            output.source().accept(stream);
+        }
+    }
+
+    /**
+     * Buffers the start of the body to decide on compression. Response headers may be modified until the first byte
+     * is written to the entity stream, so the decision must be taken before that.
+     */
+    private static class DeferredCompressionStream extends OutputStream {
+        private final OutputStream entityStream;
+        private final MultivaluedMap<String, Object> httpHeaders;
+        private final String encoding;
+        private final int minSize;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+
+        DeferredCompressionStream(OutputStream entityStream, MultivaluedMap<String, Object> httpHeaders, String encoding, int minSize) {
+            this.entityStream = entityStream;
+            this.httpHeaders = httpHeaders;
+            this.encoding = encoding;
+            this.minSize = Math.max(minSize, 4);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{ (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target != null) {
+                target.write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() >= minSize) {
+                decide(true);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // flushing before the decision would commit the headers
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target == null) {
+                decide(false);
+            }
+            target.close();
+        }
+
+        private void decide(boolean largeEnough) throws IOException {
+            var head = buffer.toByteArray();
+            buffer = null;
+            if (largeEnough && !isCompressed(head)) {
+                httpHeaders.putSingle(HttpHeaders.CONTENT_ENCODING, encoding);
+                httpHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+                target = ResponseCompression.GZIP.equals(encoding) ? new GZIPOutputStream(entityStream, true) : new DeflaterOutputStream(entityStream, true);
+            } else {
+                target = entityStream;
+            }
+            target.write(head);
+        }
+
+        private static boolean isCompressed(byte[] head) {
+            return startsWith(head, 0x1f, 0x8b) || // gzip
+                    startsWith(head, 0x28, 0xb5, 0x2f, 0xfd) || // zstd
+                    startsWith(head, 0x50, 0x4b, 0x03, 0x04) || // zip
+                    startsWith(head, 0x42, 0x5a, 0x68) || // bzip2
+                    startsWith(head, 0xfd, 0x37, 0x7a, 0x58, 0x5a); // xz
+        }
+
+        private static boolean startsWith(byte[] head, int... signature) {
+            if (head.length < signature.length) {
+                return false;
+            }
+            for (var i = 0; i < signature.length; i++) {
+                if ((head[i] & 0xff) != signature[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
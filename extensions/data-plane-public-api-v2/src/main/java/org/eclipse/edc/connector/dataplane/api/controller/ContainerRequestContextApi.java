@@ -39,7 +39,8 @@ public interface ContainerRequestContextApi {
     String queryParams();
 
     /**
-     * Format the request body into a string.
+     * Format the request body into a string. The body is decoded with its declared charset, or UTF-8, without altering
+     * line endings.
      *
      * @return Request body.
      */
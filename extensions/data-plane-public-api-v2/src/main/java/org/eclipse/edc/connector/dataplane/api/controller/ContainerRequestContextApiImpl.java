@@ -18,9 +18,9 @@ import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.core.MediaType;
 import org.eclipse.edc.spi.EdcException;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -31,11 +31,18 @@ import java.util.stream.Collectors;
 public class ContainerRequestContextApiImpl implements ContainerRequestContextApi {
 
     private static final String QUERY_PARAM_SEPARATOR = "&";
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
 
     private final ContainerRequestContext context;
+    private final long maxBodySize;
 
     public ContainerRequestContextApiImpl(ContainerRequestContext context) {
+        this(context, Long.MAX_VALUE);
+    }
+
+    public ContainerRequestContextApiImpl(ContainerRequestContext context, long maxBodySize) {
         this.context = context;
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
@@ -55,10 +62,21 @@ public class ContainerRequestContextApiImpl implements ContainerRequestContextAp
                 .collect(Collectors.joining(QUERY_PARAM_SEPARATOR));
     }
 
+    /**
+     * Reads the body without altering line endings, and decodes it with its declared charset, or UTF-8. The string
+     * body property of the data flow is all that the HTTP source accepts, so the body is held in memory, and bodies
+     * exceeding the maximum size are rejected.
+     */
     @Override
     public String body() {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(context.getEntityStream()))) {
-            return br.lines().collect(Collectors.joining("\n"));
+        var charset = bodyCharset(context.getMediaType());
+        try (var entity = context.getEntityStream()) {
+            var limit = (int) Math.min(maxBodySize, MAX_ARRAY_SIZE - 1);
+            var bytes = entity.readNBytes(limit + 1);
+            if (bytes.length > limit) {
+                throw new RequestBodyTooLargeException(limit);
+            }
+            return new String(bytes, charset);
         } catch (IOException e) {
             throw new EdcException("Failed to read request body: " + e.getMessage());
         }
@@ -82,6 +100,36 @@ public class ContainerRequestContextApiImpl implements ContainerRequestContextAp
         return context.getMethod();
     }
 
+    private static Charset bodyCharset(MediaType mediaType) {
+        var charset = mediaType != null ? mediaType.getParameters().get(MediaType.CHARSET_PARAMETER) : null;
+        if (charset == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(charset);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedBodyException(charset);
+        }
+    }
+
+    /**
+     * Thrown if the charset declared for a request body is invalid or not supported.
+     */
+    public static class UnsupportedBodyException extends EdcException {
+        public UnsupportedBodyException(String charset) {
+            super("Unsupported charset of the request body: %s".formatted(charset));
+        }
+    }
+
+    /**
+     * Thrown if a request body exceeds the maximum size.
+     */
+    public static class RequestBodyTooLargeException extends EdcException {
+        public RequestBodyTooLargeException(long maxSize) {
+            super("Request body exceeds the maximum size of %d bytes".formatted(maxSize));
+        }
+    }
+
     private static final class QueryParam {
 
         private final String key;
@@ -17,6 +17,7 @@ package org.eclipse.edc.connector.dataplane.api.controller;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HEAD;
+import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
@@ -34,41 +35,89 @@ import org.eclipse.edc.connector.dataplane.spi.pipeline.PipelineService;
 import org.eclipse.edc.connector.dataplane.spi.response.TransferErrorResponse;
 import org.eclipse.edc.connector.dataplane.util.sink.AsyncStreamingDataSink;
 import org.eclipse.edc.spi.types.domain.transfer.DataFlowStartMessage;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
 
 import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
 import static jakarta.ws.rs.core.MediaType.WILDCARD;
 import static jakarta.ws.rs.core.Response.Status.FORBIDDEN;
 import static jakarta.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
+import static jakarta.ws.rs.core.Response.Status.REQUEST_ENTITY_TOO_LARGE;
+import static jakarta.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
 import static jakarta.ws.rs.core.Response.Status.UNAUTHORIZED;
+import static jakarta.ws.rs.core.Response.Status.UNSUPPORTED_MEDIA_TYPE;
 import static jakarta.ws.rs.core.Response.status;
 
 @Path("{any:.*}")
 @Produces(WILDCARD)
 public class DataPlanePublicApiV2Controller implements DataPlanePublicApiV2 {
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String NONE = "none";
 
     private final PipelineService pipelineService;
     private final DataFlowRequestSupplier requestSupplier;
     private final ExecutorService executorService;
-    private final DataPlaneAuthorizationService authorizationService;
+    private final AuthorizationCache authorizationCache;
+    private final BooleanSupplier saturated;
+    private final Duration retryAfter;
+    private final long maxBodySize;
+    private final ResponseCompression compression;
 
     public DataPlanePublicApiV2Controller(PipelineService pipelineService,
                                           ExecutorService executorService,
                                           DataPlaneAuthorizationService authorizationService) {
+        this(pipelineService, executorService, AuthorizationCache.disabled(authorizationService), () -> false, Duration.ZERO, Long.MAX_VALUE,
+                ResponseCompression.disabled());
+    }
+
+    /**
+     * Creates the controller.
+     *
+     * @param pipelineService      the pipeline service
+     * @param executorService      the executor on which the proxied transfers run
+     * @param authorizationCache   authorizes the requests
+     * @param saturated            tells whether the executor can accept another transfer, requests are rejected while it returns true
+     * @param retryAfter           the delay sent in the Retry-After header when a request is rejected
+     * @param maxBodySize          the maximum size in bytes of a request body, larger bodies are rejected with 413
+     * @param compression          decides whether responses are compressed
+     */
+    public DataPlanePublicApiV2Controller(PipelineService pipelineService,
+                                          ExecutorService executorService,
+                                          AuthorizationCache authorizationCache,
+                                          BooleanSupplier saturated,
+                                          Duration retryAfter,
+                                          long maxBodySize,
+                                          ResponseCompression compression) {
         this.pipelineService = pipelineService;
-        this.authorizationService = authorizationService;
+        this.authorizationCache = authorizationCache;
         this.requestSupplier = new DataFlowRequestSupplier();
         this.executorService = executorService;
+        this.saturated = saturated;
+        this.retryAfter = retryAfter;
+        this.maxBodySize = maxBodySize;
+        this.compression = compression;
     }
 
     private static Response error(Response.Status status, List<String> errors) {
         return status(status).type(APPLICATION_JSON).entity(new TransferErrorResponse(errors)).build();
     }
 
+    private static boolean isRejection(Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @GET
     @Override
     public void get(@Context ContainerRequestContext requestContext, @Suspended AsyncResponse response) {
@@ -130,7 +179,7 @@ public class DataPlanePublicApiV2Controller implements DataPlanePublicApiV2 {
     }
 
     private void handle(ContainerRequestContext requestContext, AsyncResponse response) {
-        var contextApi = new ContainerRequestContextApiImpl(requestContext);
+        var contextApi = new ContainerRequestContextApiImpl(requestContext, maxBodySize);
 
         var token = contextApi.headers().get(HttpHeaders.AUTHORIZATION);
         if (token == null) {
@@ -138,15 +187,29 @@ public class DataPlanePublicApiV2Controller implements DataPlanePublicApiV2 {
             return;
         }
 
-        var sourceDataAddress = authorizationService.authorize(token, buildRequestData(requestContext));
+        var sourceDataAddress = authorizationCache.authorize(token, () -> buildRequestData(requestContext));
         if (sourceDataAddress.failed()) {
             response.resume(error(FORBIDDEN, sourceDataAddress.getFailureMessages()));
             return;
         }
 
-        var startMessage = requestSupplier.apply(contextApi, sourceDataAddress.getContent());
+        if (saturated.getAsBoolean()) {
+            response.resume(serviceUnavailable());
+            return;
+        }
+
+        DataFlowStartMessage startMessage;
+        try {
+            startMessage = requestSupplier.apply(contextApi, sourceDataAddress.getContent());
+        } catch (ContainerRequestContextApiImpl.RequestBodyTooLargeException e) {
+            response.resume(error(REQUEST_ENTITY_TOO_LARGE, List.of(e.getMessage())));
+            return;
+        } catch (ContainerRequestContextApiImpl.UnsupportedBodyException e) {
+            response.resume(error(UNSUPPORTED_MEDIA_TYPE, List.of(e.getMessage())));
+            return;
+        }
 
-        processRequest(startMessage, response);
+        processRequest(startMessage, HttpMethod.HEAD.equals(requestContext.getMethod()), requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING), response);
     }
 
     private Map<String, Object> buildRequestData(ContainerRequestContext requestContext) {
@@ -158,27 +221,56 @@ public class DataPlanePublicApiV2Controller implements DataPlanePublicApiV2 {
         return requestData;
     }
 
-    private void processRequest(DataFlowStartMessage dataFlowStartMessage, AsyncResponse response) {
+    /**
+     * Streams the content of the source. The HTTP source neither receives the Range and conditional headers of the
+     * request nor passes back the status and headers of its response, so ranges are not supported: the Range header
+     * is ignored and the full content is answered with 200, as RFC 9110 allows.
+     */
+    private void processRequest(DataFlowStartMessage dataFlowStartMessage, boolean head, @Nullable String acceptEncoding, AsyncResponse response) {
 
         AsyncStreamingDataSink.AsyncResponseContext asyncResponseContext = callback -> {
+            if (head) {
+                // HEAD responses have no body, so the content of the source is never read
+                return response.resume(Response.ok().type(callback.mediaType()).header(ACCEPT_RANGES, NONE).build());
+            }
+            var encoding = compression.selectEncoding(acceptEncoding, callback.mediaType());
+            if (encoding != null) {
+                // the writer decides on the size and signature of the body whether it is actually compressed
+                var output = new CompressingOutput(callback.outputStreamConsumer(), encoding, compression.minSize());
+                return response.resume(Response.ok(output).type(callback.mediaType()).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build());
+            }
             StreamingOutput output = t -> callback.outputStreamConsumer().accept(t);
-            var resp = Response.ok(output).type(callback.mediaType()).build();
+            var resp = Response.ok(output).type(callback.mediaType()).header(ACCEPT_RANGES, NONE).build();
             return response.resume(resp);
         };
 
         var sink = new AsyncStreamingDataSink(asyncResponseContext, executorService);
 
-        pipelineService.transfer(dataFlowStartMessage, sink)
-                .whenComplete((result, throwable) -> {
-                    if (throwable == null) {
-                        if (result.failed()) {
-                            response.resume(error(INTERNAL_SERVER_ERROR, result.getFailureMessages()));
+        try {
+            pipelineService.transfer(dataFlowStartMessage, sink)
+                    .whenComplete((result, throwable) -> {
+                        if (throwable == null) {
+                            if (result.failed()) {
+                                response.resume(error(INTERNAL_SERVER_ERROR, result.getFailureMessages()));
+                            }
+                        } else if (isRejection(throwable)) {
+                            response.resume(serviceUnavailable());
+                        } else {
+                            var error = "Unhandled exception occurred during data transfer: " + throwable.getMessage();
+                            response.resume(error(INTERNAL_SERVER_ERROR, List.of(error)));
                         }
-                    } else {
-                        var error = "Unhandled exception occurred during data transfer: " + throwable.getMessage();
-                        response.resume(error(INTERNAL_SERVER_ERROR, List.of(error)));
-                    }
-                });
+                    });
+        } catch (RejectedExecutionException e) {
+            response.resume(serviceUnavailable());
+        }
+    }
+
+    private Response serviceUnavailable() {
+        return status(SERVICE_UNAVAILABLE)
+                .type(APPLICATION_JSON)
+                .header(HttpHeaders.RETRY_AFTER, Math.max(1, retryAfter.toSeconds()))
+                .entity(new TransferErrorResponse(List.of("Too many concurrent transfers, retry later")))
+                .build();
     }
 
 }
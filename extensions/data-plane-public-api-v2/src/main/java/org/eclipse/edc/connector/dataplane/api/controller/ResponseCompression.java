@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.connector.dataplane.api.controller;
+
+import jakarta.ws.rs.core.MediaType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Decides whether and how a proxied response is compressed. Compression is opt-in, and only applies to the configured
+ * media types and to bodies of at least the minimum size. Only the codings supported by the JDK are offered.
+ *
+ * @param enabled    whether responses are compressed at all
+ * @param mediaTypes the media types (without parameters) that are compressed
+ * @param minSize    the minimum body size in bytes, smaller bodies are sent uncompressed
+ */
+public record ResponseCompression(boolean enabled, Set<String> mediaTypes, int minSize) {
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    public static ResponseCompression disabled() {
+        return new ResponseCompression(false, Set.of(), 0);
+    }
+
+    /**
+     * Selects the content coding for a response.
+     *
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request
+     * @param mediaType      the media type of the response
+     * @return gzip or deflate, or null if the response is not compressed
+     */
+    @Nullable
+    public String selectEncoding(@Nullable String acceptEncoding, @Nullable String mediaType) {
+        if (!enabled || acceptEncoding == null || mediaType == null || !isCompressible(mediaType)) {
+            return null;
+        }
+        var gzip = 0.0;
+        var deflate = 0.0;
+        for (var element : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            var parts = element.trim().split(";");
+            var quality = quality(parts);
+            switch (parts[0].trim()) {
+                case GZIP, "x-gzip" -> gzip = Math.max(gzip, quality);
+                case DEFLATE -> deflate = Math.max(deflate, quality);
+                case "*" -> {
+                    gzip = Math.max(gzip, quality);
+                    deflate = Math.max(deflate, quality);
+                }
+                default -> {
+                    // codings without a JDK implementation, such as br and zstd, are not offered
+                }
+            }
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : null;
+    }
+
+    private boolean isCompressible(String mediaType) {
+        try {
+            var parsed = MediaType.valueOf(mediaType);
+            return mediaTypes.contains((parsed.getType() + "/" + parsed.getSubtype()).toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static double quality(String[] parts) {
+        for (var i = 1; i < parts.length; i++) {
+            var parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
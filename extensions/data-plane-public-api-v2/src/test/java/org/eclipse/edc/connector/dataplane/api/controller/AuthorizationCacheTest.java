@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.connector.dataplane.api.controller;
+
+import org.eclipse.edc.connector.dataplane.spi.AccessTokenData;
+import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAuthorizationService;
+import org.eclipse.edc.connector.dataplane.spi.store.AccessTokenDataStore;
+import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthorizationCacheTest {
+
+    private final DataPlaneAuthorizationService authorizationService = mock();
+    private final AccessTokenDataStore accessTokenDataStore = mock();
+    private final AuthorizationCache cache = new AuthorizationCache(authorizationService, accessTokenDataStore, 10, Duration.ofMinutes(5), Clock.systemUTC());
+
+    @BeforeEach
+    void setup() {
+        when(authorizationService.authorize(anyString(), anyMap())).thenReturn(Result.success(DataAddress.Builder.newInstance().type("test").build()));
+    }
+
+    @Test
+    void authorize_skipsVerificationOnRepeatedToken() {
+        var token = token("jti-1", Instant.now().plusSeconds(60));
+        when(accessTokenDataStore.getById("jti-1")).thenReturn(mock(AccessTokenData.class));
+
+        assertThat(cache.authorize(token, Map::of).succeeded()).isTrue();
+        assertThat(cache.authorize(token, Map::of).succeeded()).isTrue();
+
+        verify(authorizationService, times(1)).authorize(anyString(), anyMap());
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void authorize_verifiesAgain_whenTokenWasRevoked() {
+        var token = token("jti-2", Instant.now().plusSeconds(60));
+
+        cache.authorize(token, Map::of);
+        cache.authorize(token, Map::of);
+
+        verify(authorizationService, times(2)).authorize(anyString(), anyMap());
+    }
+
+    @Test
+    void authorize_verifiesAgain_whenTokenExpired() {
+        var token = token("jti-3", Instant.now().minusSeconds(1));
+        when(accessTokenDataStore.getById("jti-3")).thenReturn(mock(AccessTokenData.class));
+
+        cache.authorize(token, Map::of);
+        cache.authorize(token, Map::of);
+
+        verify(authorizationService, times(2)).authorize(anyString(), anyMap());
+    }
+
+    private String token(String jti, Instant exp) {
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        var header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        var claims = encoder.encodeToString("{\"jti\":\"%s\",\"exp\":%d}".formatted(jti, exp.getEpochSecond()).getBytes(StandardCharsets.UTF_8));
+        return header + "." + claims + ".signature";
+    }
+}
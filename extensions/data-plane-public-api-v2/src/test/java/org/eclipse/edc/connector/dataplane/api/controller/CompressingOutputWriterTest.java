@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.edc.connector.dataplane.api.controller;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressingOutputWriterTest {
+
+    private final CompressingOutputWriter writer = new CompressingOutputWriter();
+
+    @Test
+    void selectEncoding_prefersGzip_andIgnoresUnsupportedCodings() {
+        var compression = new ResponseCompression(true, Set.of("application/json"), 10);
+
+        assertThat(compression.selectEncoding("br, zstd, gzip", "application/json; charset=utf-8")).isEqualTo("gzip");
+        assertThat(compression.selectEncoding("gzip;q=0, deflate", "application/json")).isEqualTo("deflate");
+        assertThat(compression.selectEncoding("br, zstd", "application/json")).isNull();
+        assertThat(compression.selectEncoding("gzip", "image/png")).isNull();
+        assertThat(ResponseCompression.disabled().selectEncoding("gzip", "application/json")).isNull();
+    }
+
+    @Test
+    void writeTo_compressesLargeBody() throws IOException {
+        var data = "{\"value\":\"abc\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+        var headers = new MultivaluedHashMap<String, Object>();
+        var out = new ByteArrayOutputStream();
+
+        write(new CompressingOutput(os -> writeQuietly(os, data), "gzip", 64), headers, out);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(out.size()).isLessThan(data.length);
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void writeTo_passesThroughSmallAndCompressedBodies() throws IOException {
+        var small = "{}".getBytes(StandardCharsets.UTF_8);
+        var smallHeaders = new MultivaluedHashMap<String, Object>();
+        var smallOut = new ByteArrayOutputStream();
+        write(new CompressingOutput(os -> writeQuietly(os, small), "gzip", 64), smallHeaders, smallOut);
+
+        var compressed = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("{\"value\":\"abc\"}".repeat(100).getBytes(StandardCharsets.UTF_8));
+        }
+        var compressedHeaders = new MultivaluedHashMap<String, Object>();
+        var compressedOut = new ByteArrayOutputStream();
+        write(new CompressingOutput(os -> writeQuietly(os, compressed.toByteArray()), "gzip", 8), compressedHeaders, compressedOut);
+
+        assertThat(smallHeaders).doesNotContainKey(HttpHeaders.CONTENT_ENCODING);
+        assertThat(smallOut.toByteArray()).isEqualTo(small);
+        assertThat(compressedHeaders).doesNotContainKey(HttpHeaders.CONTENT_ENCODING);
+        assertThat(compressedOut.toByteArray()).isEqualTo(compressed.toByteArray());
+    }
+
+    private void write(CompressingOutput output, MultivaluedHashMap<String, Object> headers, ByteArrayOutputStream out) throws IOException {
+        writer.writeTo(output, CompressingOutput.class, CompressingOutput.class, new Annotation[0], MediaType.APPLICATION_JSON_TYPE, headers, out);
+    }
+
+    private static void writeQuietly(OutputStream os, byte[] data) {
+        try {
+            os.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
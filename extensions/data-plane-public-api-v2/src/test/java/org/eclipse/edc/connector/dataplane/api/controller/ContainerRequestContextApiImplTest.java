@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.edc.connector.dataplane.api.controller;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContainerRequestContextApiImplTest {
+
+    private final ContainerRequestContext context = mock();
+
+    @Test
+    void body_keepsLineEndings() {
+        when(context.getEntityStream()).thenReturn(new ByteArrayInputStream("line1\r\nline2\n".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(new ContainerRequestContextApiImpl(context).body()).isEqualTo("line1\r\nline2\n");
+    }
+
+    @Test
+    void body_decodesDeclaredCharset() {
+        when(context.getMediaType()).thenReturn(new MediaType("text", "plain", Map.of(MediaType.CHARSET_PARAMETER, "ISO-8859-1")));
+        when(context.getEntityStream()).thenReturn(new ByteArrayInputStream("café".getBytes(StandardCharsets.ISO_8859_1)));
+
+        assertThat(new ContainerRequestContextApiImpl(context).body()).isEqualTo("café");
+    }
+
+    @Test
+    void body_rejectsUnknownCharset() {
+        when(context.getMediaType()).thenReturn(new MediaType("text", "plain", Map.of(MediaType.CHARSET_PARAMETER, "unknown-charset")));
+        when(context.getEntityStream()).thenReturn(new ByteArrayInputStream(new byte[]{ 'a' }));
+
+        assertThatThrownBy(() -> new ContainerRequestContextApiImpl(context).body())
+                .isInstanceOf(ContainerRequestContextApiImpl.UnsupportedBodyException.class);
+    }
+
+    @Test
+    void body_rejectsBodyExceedingMaxSize() {
+        when(context.getEntityStream()).thenReturn(new ByteArrayInputStream(new byte[101]));
+
+        assertThatThrownBy(() -> new ContainerRequestContextApiImpl(context, 100).body())
+                .isInstanceOf(ContainerRequestContextApiImpl.RequestBodyTooLargeException.class);
+        when(context.getEntityStream()).thenReturn(new ByteArrayInputStream(new byte[100]));
+        assertThat(new ContainerRequestContextApiImpl(context, 100).body()).hasSize(100);
+    }
+}
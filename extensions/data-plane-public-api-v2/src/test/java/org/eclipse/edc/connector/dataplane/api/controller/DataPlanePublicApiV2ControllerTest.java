@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
@@ -50,11 +51,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -162,6 +165,21 @@ class DataPlanePublicApiV2ControllerTest extends RestControllerTestBase {
                 .body("errors[0]", is("Unhandled exception occurred during data transfer: " + errorMsg));
     }
 
+    @Test
+    void should_returnServiceUnavailable_if_transferIsRejected() {
+        when(pipelineService.transfer(any(DataFlowStartMessage.class), any()))
+                .thenReturn(failedFuture(new RejectedExecutionException("pool is full")));
+
+        baseRequest()
+                .header(AUTHORIZATION, UUID.randomUUID().toString())
+                .when()
+                .get("/any")
+                .then()
+                .statusCode(Response.Status.SERVICE_UNAVAILABLE.getStatusCode())
+                .header("Retry-After", "1")
+                .contentType(JSON);
+    }
+
     @Test
     void shouldStreamSourceToResponse() {
         when(dataAddressResolver.resolve(any())).thenReturn(Result.success(testDestAddress()));
@@ -189,6 +207,116 @@ class DataPlanePublicApiV2ControllerTest extends RestControllerTestBase {
         assertThat(request.getProperties()).containsEntry("method", "POST").containsEntry("pathSegments", "any").containsEntry("queryParams", "foo=bar");
     }
 
+    @Test
+    void shouldForwardTextBodyAndMediaTypeUnchanged() {
+        when(pipelineService.transfer(any(), any())).thenAnswer(i -> {
+            ((AsyncStreamingDataSink) i.getArgument(1)).transfer(new TestDataSource("text/plain", "data"));
+            return CompletableFuture.completedFuture(StreamResult.success());
+        });
+
+        baseRequest()
+                .header(AUTHORIZATION, UUID.randomUUID().toString())
+                .contentType("application/json")
+                .body("{\r\n\"key\": \"value\"\r\n}")
+                .when()
+                .post("/any")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        var requestCaptor = ArgumentCaptor.forClass(DataFlowStartMessage.class);
+        verify(pipelineService).transfer(requestCaptor.capture(), any());
+        assertThat(requestCaptor.getValue().getProperties())
+                .containsEntry("body", "{\r\n\"key\": \"value\"\r\n}")
+                .hasEntrySatisfying("mediaType", mediaType -> assertThat(mediaType).startsWith("application/json").doesNotContain("ISO-8859-1"));
+    }
+
+    @Test
+    void shouldForwardBody_withoutTextualMediaType() {
+        when(pipelineService.transfer(any(), any())).thenAnswer(i -> {
+            ((AsyncStreamingDataSink) i.getArgument(1)).transfer(new TestDataSource("text/plain", "data"));
+            return CompletableFuture.completedFuture(StreamResult.success());
+        });
+
+        baseRequest()
+                .header(AUTHORIZATION, UUID.randomUUID().toString())
+                .contentType("application/octet-stream")
+                .body("payload".getBytes())
+                .when()
+                .post("/any")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        var requestCaptor = ArgumentCaptor.forClass(DataFlowStartMessage.class);
+        verify(pipelineService).transfer(requestCaptor.capture(), any());
+        assertThat(requestCaptor.getValue().getProperties()).containsEntry("body", "payload");
+    }
+
+    @Test
+    void shouldReturnUnsupportedMediaType_forUnknownCharset() {
+        baseRequest()
+                .header(AUTHORIZATION, UUID.randomUUID().toString())
+                .contentType("text/plain; charset=unknown-charset")
+                .body("payload".getBytes())
+                .when()
+                .post("/any")
+                .then()
+                .statusCode(Response.Status.UNSUPPORTED_MEDIA_TYPE.getStatusCode())
+                .contentType(JSON);
+
+        verify(pipelineService, never()).transfer(any(), any());
+    }
+
+    @Test
+    void shouldIgnoreRange_andReturnFullContent() {
+        when(pipelineService.transfer(any(), any())).thenAnswer(i -> {
+            ((AsyncStreamingDataSink) i.getArgument(1)).transfer(new TestDataSource("text/plain", "0123456789"));
+            return CompletableFuture.completedFuture(StreamResult.success());
+        });
+
+        var responseBody = baseRequest()
+                .header(AUTHORIZATION, UUID.randomUUID().toString())
+                .header("Range", "bytes=2-5")
+                .when()
+                .get("/any")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .header("Content-Range", nullValue())
+                .header("Accept-Ranges", "none")
+                .extract().body().asString();
+
+        assertThat(responseBody).isEqualTo("0123456789");
+        var requestCaptor = ArgumentCaptor.forClass(DataFlowStartMessage.class);
+        verify(pipelineService).transfer(requestCaptor.capture(), any());
+        assertThat(requestCaptor.getValue().getProperties()).doesNotContainKey("Range");
+    }
+
+    @Test
+    void shouldAnswerHead_withoutReadingSource() {
+        var part = mock(DataSource.Part.class);
+        when(part.name()).thenReturn("test");
+        when(part.mediaType()).thenReturn("text/plain");
+        var source = mock(DataSource.class);
+        when(source.openPartStream()).thenReturn(StreamResult.success(Stream.of(part)));
+        when(pipelineService.transfer(any(), any())).thenAnswer(i -> {
+            ((AsyncStreamingDataSink) i.getArgument(1)).transfer(source);
+            return CompletableFuture.completedFuture(StreamResult.success());
+        });
+
+        baseRequest()
+                .header(AUTHORIZATION, UUID.randomUUID().toString())
+                .when()
+                .head("/any")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .contentType("text/plain")
+                .header("Accept-Ranges", "none");
+
+        verify(part, never()).openStream();
+        var requestCaptor = ArgumentCaptor.forClass(DataFlowStartMessage.class);
+        verify(pipelineService).transfer(requestCaptor.capture(), any());
+        assertThat(requestCaptor.getValue().getProperties()).containsEntry("method", "HEAD");
+    }
+
     @Override
     protected Object controller() {
         return new DataPlanePublicApiV2Controller(pipelineService, Executors.newSingleThreadExecutor(), authorizationService);